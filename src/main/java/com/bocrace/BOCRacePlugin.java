@@ -9,20 +9,35 @@ import com.bocrace.listener.RaceLineListener;
 import com.bocrace.listener.RaceCleanupListener;
 import com.bocrace.listener.MultiplayerButtonListener;
 import com.bocrace.listener.RaceProtectionListener;
+import com.bocrace.listener.SafeLocationListener;
+import com.bocrace.listener.LeaderboardDisplayListener;
+import com.bocrace.listener.TickLoadListener;
 import com.bocrace.storage.StorageManager;
 import com.bocrace.race.RaceManager;
 import com.bocrace.race.MultiplayerRaceManager;
+import com.bocrace.race.RaceHudTask;
+import com.bocrace.race.RaceBoatSweepTask;
 import com.bocrace.storage.RecordManager;
 import com.bocrace.storage.YAMLRecordManager;
 import com.bocrace.util.PDCKeys;
 import com.bocrace.util.BoatManager;
 import com.bocrace.util.TeleportUtil;
 import com.bocrace.util.SoundEffectManager;
+import com.bocrace.util.ParticleDispatcher;
+import com.bocrace.util.RaceBoatReaper;
+import com.bocrace.util.CourseChunkManager;
+import com.bocrace.util.LeaderboardDisplayManager;
+import com.bocrace.util.TickLoadMonitor;
 import com.bocrace.race.ActiveRace;
 import com.bocrace.model.Course;
 import com.bocrace.integration.BOCRacePlaceholderExpansion;
+import com.bocrace.integration.PlaceholderSnapshotTask;
+import com.bocrace.integration.PlayerPlaceholderCache;
+import com.bocrace.integration.PlaceholderMetrics;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.HashMap;
@@ -39,12 +54,24 @@ public class BOCRacePlugin extends JavaPlugin {
     private RecordManager recordManager;
     private RaceManager raceManager;
     private MultiplayerRaceManager multiplayerRaceManager;
+    private RaceHudTask raceHudTask;
+    private PlaceholderSnapshotTask placeholderSnapshotTask;
+    private RaceLineListener raceLineListener;
+    private RaceBoatSweepTask raceBoatSweepTask;
+    private String raceDetectionMode;
     
     // Race utilities
     private PDCKeys pdcKeys;
     private BoatManager boatManager;
     private TeleportUtil teleportUtil;
     private SoundEffectManager soundEffectManager;
+    private ParticleDispatcher particleDispatcher;
+    private RaceBoatReaper raceBoatReaper;
+    private CourseChunkManager courseChunkManager;
+    private LeaderboardDisplayManager leaderboardDisplayManager;
+    private final PlayerPlaceholderCache playerPlaceholderCache = new PlayerPlaceholderCache();
+    private final PlaceholderMetrics placeholderMetrics = new PlaceholderMetrics();
+    private final TickLoadMonitor tickLoadMonitor = new TickLoadMonitor(this);
     
     // Setup mode tracking
     private Map<UUID, SetupMode> playerSetupModes;
@@ -76,7 +103,10 @@ public class BOCRacePlugin extends JavaPlugin {
         pdcKeys = new PDCKeys(this);
         boatManager = new BoatManager(this, pdcKeys);
         teleportUtil = new TeleportUtil(this);
+        particleDispatcher = new ParticleDispatcher(this);
         soundEffectManager = new SoundEffectManager(this);
+        raceBoatReaper = new RaceBoatReaper(this, boatManager);
+        courseChunkManager = new CourseChunkManager(this);
         debugLog("Race utilities initialized successfully");
 
         // Register the main command
@@ -90,17 +120,41 @@ public class BOCRacePlugin extends JavaPlugin {
         // Register event listeners
         getServer().getPluginManager().registerEvents(new SetupListener(this), this);
         getServer().getPluginManager().registerEvents(new StartButtonListener(this, boatManager, teleportUtil), this);
-        getServer().getPluginManager().registerEvents(new RaceLineListener(this, boatManager, teleportUtil), this);
+        raceLineListener = new RaceLineListener(this, boatManager, teleportUtil);
+        getServer().getPluginManager().registerEvents(raceLineListener, this);
         getServer().getPluginManager().registerEvents(new RaceCleanupListener(this, boatManager, teleportUtil), this);
         getServer().getPluginManager().registerEvents(new MultiplayerButtonListener(this), this);
         getServer().getPluginManager().registerEvents(new RaceProtectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new SafeLocationListener(this), this);
+        getServer().getPluginManager().registerEvents(new LeaderboardDisplayListener(this), this);
+        getServer().getPluginManager().registerEvents(new TickLoadListener(this), this);
         debugLog("All event listeners registered successfully");
+        
+        // Race line detection: per-move events or a per-tick sweep of racer boats
+        raceBoatSweepTask = new RaceBoatSweepTask(this, raceLineListener);
+        applyRaceDetectionMode();
+        
+        // Reap race boats orphaned by a crash in chunks that were already loaded
+        raceBoatReaper.startSweep();
+        
+        // Start the shared race timer display task
+        raceHudTask = new RaceHudTask(this);
+        raceHudTask.start();
+        
+        // Spawn built-in leaderboard displays (updated from record change events)
+        leaderboardDisplayManager = new LeaderboardDisplayManager(this);
+        leaderboardDisplayManager.start();
 
         // Register PlaceholderAPI expansion
         if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            new BOCRacePlaceholderExpansion(this).register();
+            BOCRacePlaceholderExpansion expansion = new BOCRacePlaceholderExpansion(this);
+            expansion.register();
             getLogger().info("PlaceholderAPI expansion registered successfully!");
             
+            // Leaderboard placeholders are served from a snapshot rebuilt off the main thread
+            placeholderSnapshotTask = new PlaceholderSnapshotTask(this, expansion);
+            placeholderSnapshotTask.start();
+            
             // Generate placeholder reference file
             generatePlaceholderReferenceFile();
         } else {
@@ -122,12 +176,42 @@ public class BOCRacePlugin extends JavaPlugin {
             }
         }
         
+        // Stop the race timer display
+        if (raceHudTask != null) {
+            raceHudTask.stop();
+        }
+        
+        // Remove leaderboard displays
+        if (leaderboardDisplayManager != null) {
+            leaderboardDisplayManager.stop();
+        }
+        
+        // Stop the placeholder snapshot refresh
+        if (placeholderSnapshotTask != null) {
+            placeholderSnapshotTask.stop();
+        }
+        
+        // Stop the tick-mode boat sweep
+        if (raceBoatSweepTask != null) {
+            raceBoatSweepTask.stop();
+        }
+        
         // Cleanup multiplayer races
         if (multiplayerRaceManager != null) {
             multiplayerRaceManager.shutdown();
             getLogger().info("🏁 Cleaned up all multiplayer races");
         }
         
+        // The scheduler stops with the plugin - send any queued lobby returns now
+        if (teleportUtil != null) {
+            teleportUtil.flushReturns();
+        }
+        
+        // Stop any running orphan sweep
+        if (raceBoatReaper != null) {
+            raceBoatReaper.stop();
+        }
+        
         // Cleanup all race boats
         if (boatManager != null) {
             int cleanedUp = boatManager.cleanupAllRaceBoats();
@@ -136,9 +220,36 @@ public class BOCRacePlugin extends JavaPlugin {
             }
         }
         
+        // Release course chunk tickets
+        if (courseChunkManager != null) {
+            courseChunkManager.releaseAll();
+        }
+        
         getLogger().info("BOCRacePlugin has been disabled!");
     }
     
+    /**
+     * Switch race line detection between "event" (VehicleMoveEvent) and "tick" (batched sweep)
+     * Called on enable and on config reload, only re-registers when the mode changes
+     */
+    public void applyRaceDetectionMode() {
+        if (raceLineListener == null || raceBoatSweepTask == null) return;
+        
+        String mode = configManager.getSettings().getRaceDetectionMode();
+        if (mode.equals(raceDetectionMode)) return;
+        
+        if (mode.equals("tick")) {
+            VehicleMoveEvent.getHandlerList().unregister(raceLineListener);
+            raceBoatSweepTask.start();
+        } else {
+            raceBoatSweepTask.stop();
+            getServer().getPluginManager().registerEvent(VehicleMoveEvent.class, raceLineListener, EventPriority.NORMAL,
+                    (listener, event) -> raceLineListener.onBoatMove((VehicleMoveEvent) event), this);
+        }
+        raceDetectionMode = mode;
+        debugLog("Race detection mode: " + mode);
+    }
+    
     /**
      * Emergency rescue system for plugin disable
      */
@@ -155,16 +266,16 @@ public class BOCRacePlugin extends JavaPlugin {
                     
                     if (course != null) {
                         // Use emergency teleport with pre-race location fallback
-                        teleportUtil.emergencyTeleport(player, course, race.getPreRaceLocation(), "plugin_disable");
+                        teleportUtil.emergencyTeleport(player, course, race.getSafePreRaceLocation(), "plugin_disable");
                     } else {
                         // Course not found, use pre-race location or world spawn
-                        Location safeLocation = race.getPreRaceLocation();
-                        if (safeLocation == null || !TeleportUtil.isSafeLocation(safeLocation)) {
+                        Location safeLocation = race.getSafePreRaceLocation();
+                        if (safeLocation == null) {
                             safeLocation = player.getWorld().getSpawnLocation();
                         }
                         
-                        player.teleport(safeLocation);
-                        player.sendMessage("§c⚠️ Race plugin disabled! Returned to safe location.");
+                        teleportUtil.teleportAsync(player, safeLocation,
+                                success -> player.sendMessage("§c⚠️ Race plugin disabled! Returned to safe location."));
                     }
                     
                     rescued++;
@@ -200,6 +311,42 @@ public class BOCRacePlugin extends JavaPlugin {
         return multiplayerRaceManager;
     }
     
+    public RaceHudTask getRaceHudTask() {
+        return raceHudTask;
+    }
+    
+    public LeaderboardDisplayManager getLeaderboardDisplayManager() {
+        return leaderboardDisplayManager;
+    }
+    
+    public PlayerPlaceholderCache getPlayerPlaceholderCache() {
+        return playerPlaceholderCache;
+    }
+    
+    public TickLoadMonitor getTickLoadMonitor() {
+        return tickLoadMonitor;
+    }
+    
+    public PlaceholderMetrics getPlaceholderMetrics() {
+        return placeholderMetrics;
+    }
+    
+    public PlaceholderSnapshotTask getPlaceholderSnapshotTask() {
+        return placeholderSnapshotTask;
+    }
+    
+    public RaceLineListener getRaceLineListener() {
+        return raceLineListener;
+    }
+    
+    public RaceBoatSweepTask getRaceBoatSweepTask() {
+        return raceBoatSweepTask;
+    }
+    
+    public String getRaceDetectionMode() {
+        return raceDetectionMode;
+    }
+    
     public PDCKeys getPdcKeys() {
         return pdcKeys;
     }
@@ -208,6 +355,14 @@ public class BOCRacePlugin extends JavaPlugin {
         return boatManager;
     }
     
+    public RaceBoatReaper getRaceBoatReaper() {
+        return raceBoatReaper;
+    }
+    
+    public CourseChunkManager getCourseChunkManager() {
+        return courseChunkManager;
+    }
+    
     public TeleportUtil getTeleportUtil() {
         return teleportUtil;
     }
@@ -216,6 +371,10 @@ public class BOCRacePlugin extends JavaPlugin {
         return soundEffectManager;
     }
     
+    public ParticleDispatcher getParticleDispatcher() {
+        return particleDispatcher;
+    }
+    
     // Setup mode management
     public Map<UUID, SetupMode> getPlayerSetupModes() {
         return playerSetupModes;
@@ -282,7 +441,7 @@ public class BOCRacePlugin extends JavaPlugin {
     }
     
     public void multiplayerDebugLog(String message) {
-        if (getConfig().getBoolean("debug-multiplayer", false)) {
+        if (configManager.isMultiplayerDebugEnabled()) {
             getLogger().info("[MP-DEBUG] " + message);
         }
     }
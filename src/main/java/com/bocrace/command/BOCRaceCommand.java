@@ -3,6 +3,7 @@ package com.bocrace.command;
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
 import com.bocrace.model.CourseType;
+import com.bocrace.integration.PlaceholderMetrics;
 import java.util.HashMap;
 import java.util.Map;
 import com.bocrace.model.RaceRecord;
@@ -55,6 +56,12 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                 }
                 showDebugCourses(sender);
                 return true;
+            case "perf":
+                if (!sender.hasPermission("bocrace.debug")) {
+                    sender.sendMessage("§cYou don't have permission to use debug commands!");
+                    return true;
+                }
+                return handlePerfCommand(sender, args);
             case "singleplayer":
                 return handleSingleplayerCommand(sender, args);
             case "multiplayer":
@@ -205,6 +212,7 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§6Global Commands:");
         sender.sendMessage("§e/bocrace help §7- Show this help menu");
         sender.sendMessage("§e/bocrace reload §7- Reload plugin configuration");
+        sender.sendMessage("§e/bocrace perf [effects|placeholders|displays|reset] §7- Show performance counters");
     }
     
     private void showDebugCourses(CommandSender sender) {
@@ -220,6 +228,90 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
             String prefixDisplay = course.getPrefixDisplay();
             sender.sendMessage("§7- " + course.getDisplayName() + " [Prefix: " + prefixDisplay + "]");
         }
+        sender.sendMessage("§7Trigger index: " + plugin.getStorageManager().getTriggerIndex().getIndexedChunkCount() + " chunks");
+    }
+    
+    /**
+     * Handle /bocrace perf [effects|placeholders|displays|reset]
+     */
+    private boolean handlePerfCommand(CommandSender sender, String[] args) {
+        String section = args.length > 1 ? args[1].toLowerCase() : "effects";
+        
+        switch (section) {
+            case "effects":
+                showEffectCounters(sender);
+                return true;
+            case "placeholders":
+                showPlaceholderMetrics(sender);
+                return true;
+            case "displays":
+                showDisplayCounters(sender);
+                return true;
+            case "reset":
+                plugin.getParticleDispatcher().resetCounters();
+                plugin.getPlaceholderMetrics().reset();
+                if (plugin.getLeaderboardDisplayManager() != null) {
+                    plugin.getLeaderboardDisplayManager().resetCounters();
+                }
+                sender.sendMessage("§aPerformance counters reset.");
+                return true;
+            default:
+                sender.sendMessage("§cUsage: /bocrace perf [effects|placeholders|displays|reset]");
+                return true;
+        }
+    }
+    
+    private void showEffectCounters(CommandSender sender) {
+        var dispatcher = plugin.getParticleDispatcher();
+        var settings = plugin.getConfigManager().getSettings();
+        sender.sendMessage("§6=== Effect Particles ===");
+        sender.sendMessage("§7Bursts queued: §f" + dispatcher.getBurstsQueued() +
+                           " §7(coalesced: §f" + dispatcher.getBurstsCoalesced() + "§7)");
+        sender.sendMessage("§7Bursts sent: §f" + dispatcher.getBurstsSent() +
+                           " §7- packets: §f" + dispatcher.getPacketsSent());
+        sender.sendMessage("§7Particles sent: §f" + dispatcher.getParticlesSent() +
+                           " §7- dropped by budget: §f" + dispatcher.getParticlesDropped());
+        sender.sendMessage("§7View radius: §f" + settings.getParticleViewRadius() +
+                           " §7- budget: §f" + settings.getParticleMaxPerTick() + "/tick");
+    }
+    
+    private void showPlaceholderMetrics(CommandSender sender) {
+        var metrics = plugin.getPlaceholderMetrics();
+        var tickMonitor = plugin.getTickLoadMonitor();
+        sender.sendMessage("§6=== Placeholder Requests ===");
+        sender.sendMessage("§7Average MSPT: §f" + Math.round(tickMonitor.getAverageMspt() * 10) / 10.0 +
+                           " §7- load shedding: " + (tickMonitor.isOverloaded() ? "§cactive" : "§aidle") +
+                           " §7(stale answers: §f" + metrics.getShed() + "§7)");
+        for (PlaceholderMetrics.Family family : PlaceholderMetrics.Family.values()) {
+            long requests = metrics.getRequests(family);
+            if (requests == 0) continue;
+            sender.sendMessage("§e" + family.name().toLowerCase() + "§7: §f" + requests +
+                               " §7- avg §f" + metrics.getAverageMicros(family) + "µs §7- max §f" + metrics.getMaxMicros(family) + "µs");
+            sender.sendMessage("§8  " + metrics.getHistogram(family));
+        }
+        
+        var slowest = metrics.getSlowest();
+        if (slowest.isEmpty()) {
+            sender.sendMessage("§7No placeholder requests recorded yet.");
+            return;
+        }
+        sender.sendMessage("§6Slowest params:");
+        for (PlaceholderMetrics.SlowSample sample : slowest) {
+            sender.sendMessage("§7- §f" + sample.getParams() + " §7(" + sample.getFamily().name().toLowerCase() +
+                               ") §c" + sample.getMicros() + "µs");
+        }
+    }
+    
+    private void showDisplayCounters(CommandSender sender) {
+        var displays = plugin.getLeaderboardDisplayManager();
+        sender.sendMessage("§6=== Leaderboard Displays ===");
+        if (displays == null || !plugin.getConfigManager().getSettings().isLeaderboardsEnabled()) {
+            sender.sendMessage("§7Leaderboard displays are disabled.");
+            return;
+        }
+        sender.sendMessage("§7Boards: §f" + displays.getBoardCount());
+        sender.sendMessage("§7Lines rewritten: §f" + displays.getLinesUpdated() +
+                           " §7- unchanged (skipped): §f" + displays.getLinesUnchanged());
     }
     
     @Override
@@ -227,8 +319,8 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            // First level: singleplayer, multiplayer, help, reload, debugcourses, data, testpapi, test-leaderboards
-            List<String> subCommands = Arrays.asList("singleplayer", "multiplayer", "help", "reload", "debugcourses", "data", "testpapi", "test-leaderboards");
+            // First level: singleplayer, multiplayer, help, reload, debugcourses, perf, data, testpapi, test-leaderboards
+            List<String> subCommands = Arrays.asList("singleplayer", "multiplayer", "help", "reload", "debugcourses", "perf", "data", "testpapi", "test-leaderboards");
             for (String subCommand : subCommands) {
                 if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
                     completions.add(subCommand);
@@ -260,6 +352,14 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                         completions.add(dataCommand);
                     }
                 }
+            } else if (firstArg.equals("perf")) {
+                // Perf sections
+                List<String> perfCommands = Arrays.asList("effects", "placeholders", "displays", "reset");
+                for (String perfCommand : perfCommands) {
+                    if (perfCommand.startsWith(args[1].toLowerCase())) {
+                        completions.add(perfCommand);
+                    }
+                }
             } else if (firstArg.equals("testpapi")) {
                 // TestPAPI subcommands
                 List<String> testpapiCommands = Arrays.asList("list", "test");
@@ -333,7 +433,8 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
             if (firstArg.equals("singleplayer") && secondArg.equals("setup")) {
                 List<String> setupActions = Arrays.asList(
                     "setmainlobbybutton", "setcourselobbybutton", "setboatspawn", "setboattype", "setstartlinepoints", "setfinishlinepoints", 
-                    "setreturnmainbutton", "setcourselobbyspawn", "setmainlobbyspawn"
+                    "setcheckpoint", "clearcheckpoints", "setreturnmainbutton", "setcourselobbyspawn", "setmainlobbyspawn",
+                    "setleaderboard"
                 );
                 for (String action : setupActions) {
                     if (action.toLowerCase().startsWith(args[3].toLowerCase())) {
@@ -343,7 +444,8 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
             } else if (firstArg.equals("multiplayer") && secondArg.equals("setup")) {
                 List<String> mpSetupActions = Arrays.asList(
                     "setmpracelobbyspawn", "setmpcreateracebutton", "setmpstartracebutton", "setmpjoinracebutton", 
-                    "setmpcancelracebutton", "setmpreturnbutton", "setmpboatspawn", "setstartlinepoints", "setfinishlinepoints"
+                    "setmpcancelracebutton", "setmpreturnbutton", "setmpboatspawn", "setstartlinepoints", "setfinishlinepoints",
+                    "setcheckpoint", "clearcheckpoints", "setleaderboard"
                 );
                 for (String action : mpSetupActions) {
                     if (action.toLowerCase().startsWith(args[3].toLowerCase())) {
@@ -397,6 +499,15 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                             completions.add(boatType);
                         }
                     }
+                } else if (fourthArg.equals("setcheckpoint")) {
+                    // Checkpoint numbers - existing ones plus the next free slot
+                    Course course = plugin.getStorageManager().getCourse(args[2]);
+                    int existing = course != null && course.getCheckpoints() != null ? course.getCheckpoints().size() : 0;
+                    for (int i = 1; i <= Math.min(existing + 1, com.bocrace.storage.StorageManager.MAX_CHECKPOINTS); i++) {
+                        if (String.valueOf(i).startsWith(args[4])) {
+                            completions.add(String.valueOf(i));
+                        }
+                    }
                 } else if (firstArg.equals("multiplayer") && fourthArg.equals("setmpboatspawn")) {
                     // Boat spawn numbers for multiplayer
                     List<String> spawnNumbers = Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
@@ -407,6 +518,15 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                     }
                 }
             }
+        } else if (args.length == 6) {
+            // Sixth argument - point number for setcheckpoint
+            if (args[1].equalsIgnoreCase("setup") && args[3].equalsIgnoreCase("setcheckpoint")) {
+                for (String point : Arrays.asList("1", "2")) {
+                    if (point.startsWith(args[5])) {
+                        completions.add(point);
+                    }
+                }
+            }
         }
         
         return completions;
@@ -479,6 +599,9 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         
         plugin.getLogger().info("[DEBUG] Course found for deletion - Name: " + course.getName() + ", Type: " + course.getType());
         plugin.getStorageManager().removeCourse(courseName);
+        if (plugin.getLeaderboardDisplayManager() != null) {
+            plugin.getLeaderboardDisplayManager().removeCourse(courseName);
+        }
         sender.sendMessage("§aSingleplayer course '" + courseName + "' deleted successfully!");
         plugin.getLogger().info("[DEBUG] Course deleted successfully: " + courseName);
         return true;
@@ -557,6 +680,7 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§7- Finish Line Point 1: " + (course.getSpfinish1() != null ? "§aSET" : "§cNOT SET"));
         sender.sendMessage("§7- Finish Line Point 2: " + (course.getSpfinish2() != null ? "§aSET" : "§cNOT SET"));
         sender.sendMessage("§7- Return Button: " + (course.getSpreturn() != null ? "§aSET" : "§cNOT SET"));
+        sender.sendMessage("§7- Checkpoints: §e" + course.getCompleteCheckpointCount() + " §8(optional)");
         sender.sendMessage("§7- Course Lobby Spawn: " + (course.getSpcourselobby() != null ? "§aSET" : "§cNOT SET"));
         
         // Calculate completion status with correct logic
@@ -641,9 +765,13 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setboattype <type> §7- Set boat type (oak, cherry, bamboo, etc.)");
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setstartlinepoints <1|2> §7- Set start line points");
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setfinishlinepoints <1|2> §7- Set finish line points");
+            sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setcheckpoint <number> <1|2> §7- Set checkpoint line points (passed in order)");
+            sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " clearcheckpoints §7- Remove all checkpoints");
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setreturnmainbutton §7- Set return/restart button location");
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setcourselobbyspawn §7- Set course lobby spawn location");
             sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setmainlobbyspawn §7- Set main lobby spawn location");
+            sender.sendMessage("§e§lDisplays:");
+            sender.sendMessage("§a/bocrace singleplayer setup " + courseName + " setleaderboard §7- Set leaderboard display location (top 10)");
             plugin.getLogger().info("[DEBUG] Setup options displayed for course: " + courseName);
             return true;
         }
@@ -664,12 +792,18 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                 return handleSetStart(sender, args, course);
             case "setfinishlinepoints":
                 return handleSetFinish(sender, args, course);
+            case "setcheckpoint":
+                return handleSetCheckpoint(sender, args, course);
+            case "clearcheckpoints":
+                return handleClearCheckpoints(sender, course);
             case "setreturnmainbutton":
                 return handleSetReturn(sender, course);
             case "setcourselobbyspawn":
                 return handleSetCourseLobby(sender, course);
             case "setmainlobbyspawn":
                 return handleSetMainLobby(sender, course);
+            case "setleaderboard":
+                return handleSetLeaderboard(sender, course);
             default:
                 sender.sendMessage("§cUnknown setup action. Use /bocrace singleplayer setup " + courseName + " to see available options.");
                 plugin.getLogger().info("[DEBUG] Setup command failed - unknown action: " + setupAction);
@@ -887,7 +1021,7 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         Course testCourse = plugin.getStorageManager().getCourse("Herewego1");
         if (testCourse != null) {
             testCourse.recordUsage(playerName);
-            plugin.getStorageManager().saveCourse(testCourse);
+            plugin.getStorageManager().saveCourseUsage(testCourse);
             sender.sendMessage("§a✓ Recorded usage for course: " + testCourse.getName());
             sender.sendMessage("§7  Usage count: " + testCourse.getUsageCount());
             sender.sendMessage("§7  Last used by: " + testCourse.getLastUsedBy());
@@ -1018,6 +1152,60 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    private boolean handleSetCheckpoint(CommandSender sender, String[] args, Course course) {
+        plugin.debugSetupLog("SetCheckpoint called - Player: " + sender.getName() + ", Course: " + course.getName() + ", Args: " + java.util.Arrays.toString(args));
+        
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("§cThis command can only be used by players!");
+            return true;
+        }
+        
+        String typeName = course.getType() == CourseType.SINGLEPLAYER ? "singleplayer" : "multiplayer";
+        if (args.length < 6) {
+            sender.sendMessage("§cUsage: /bocrace " + typeName + " setup " + course.getName() + " setcheckpoint <number> <1|2>");
+            sender.sendMessage("§7Checkpoints must be passed in order (1, 2, 3...) before the finish line counts");
+            return true;
+        }
+        
+        int number;
+        try {
+            number = Integer.parseInt(args[4]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cInvalid checkpoint number. Use a number between 1 and " + com.bocrace.storage.StorageManager.MAX_CHECKPOINTS);
+            return true;
+        }
+        if (number < 1 || number > com.bocrace.storage.StorageManager.MAX_CHECKPOINTS) {
+            sender.sendMessage("§cCheckpoint number must be between 1 and " + com.bocrace.storage.StorageManager.MAX_CHECKPOINTS + "!");
+            return true;
+        }
+        
+        String point = args[5];
+        if (!point.equals("1") && !point.equals("2")) {
+            sender.sendMessage("§cInvalid point number. Use 1 or 2");
+            return true;
+        }
+        
+        Player player = (Player) sender;
+        String action = "setcheckpoint" + number + "_" + point;
+        plugin.setPlayerSetupMode(player, course.getName(), action);
+        
+        player.sendMessage("§eRight-click checkpoint #" + number + " point " + point + " for course '" + course.getName() + "'");
+        player.sendMessage("§7You have 30 seconds to right-click a block!");
+        plugin.debugSetupLog("Player " + player.getName() + " entered setup mode for " + action);
+        return true;
+    }
+    
+    private boolean handleClearCheckpoints(CommandSender sender, Course course) {
+        int removed = course.getCheckpoints() != null ? course.getCheckpoints().size() : 0;
+        course.setCheckpoints(new ArrayList<>());
+        course.updateLastEdited();
+        plugin.getStorageManager().saveCourse(course);
+        
+        sender.sendMessage("§aRemoved " + removed + " checkpoints from course '" + course.getName() + "'");
+        plugin.debugSetupLog("Checkpoints cleared for course: " + course.getName() + " by " + sender.getName());
+        return true;
+    }
+    
     private boolean handleSetReturn(CommandSender sender, Course course) {
         plugin.getLogger().info("[DEBUG] SetReturn called - Player: " + sender.getName() + ", Course: " + course.getName());
         
@@ -1054,6 +1242,24 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    private boolean handleSetLeaderboard(CommandSender sender, Course course) {
+        plugin.getLogger().info("[DEBUG] SetLeaderboard called - Player: " + sender.getName() + ", Course: " + course.getName());
+        
+        if (!(sender instanceof Player)) {
+            sender.sendMessage("§cThis command can only be used by players!");
+            plugin.getLogger().info("[DEBUG] SetLeaderboard failed - not a player");
+            return true;
+        }
+        
+        Player player = (Player) sender;
+        plugin.setPlayerSetupMode(player, course.getName(), "setleaderboard");
+        
+        player.sendMessage("§eRight-click the block the leaderboard should stand on for course '" + course.getName() + "'");
+        player.sendMessage("§7You have 30 seconds to right-click a block!");
+        plugin.getLogger().info("[DEBUG] Player " + player.getName() + " entered setup mode for setleaderboard");
+        return true;
+    }
+    
     private boolean handleSetMainLobby(CommandSender sender, Course course) {
         plugin.getLogger().info("[DEBUG] SetMainLobby called - Player: " + sender.getName() + ", Course: " + course.getName());
         
@@ -1116,6 +1322,9 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage("§7  setmpboatspawn <1-10> - Set boat spawn point (1-10)");
             sender.sendMessage("§7  setstartlinepoints - Set start line detection points");
             sender.sendMessage("§7  setfinishlinepoints - Set finish line detection points");
+            sender.sendMessage("§7  setcheckpoint <number> <1|2> - Set checkpoint line points (passed in order)");
+            sender.sendMessage("§7  clearcheckpoints - Remove all checkpoints");
+            sender.sendMessage("§7  setleaderboard - Set leaderboard display location (top 10)");
             return true;
         }
         
@@ -1153,6 +1362,8 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         
         sender.sendMessage("§7Start Line: " + (course.getSpstart1() != null && course.getSpstart2() != null ? "§aSet" : "§cNot Set"));
         sender.sendMessage("§7Finish Line: " + (course.getSpfinish1() != null && course.getSpfinish2() != null ? "§aSet" : "§cNot Set"));
+        sender.sendMessage("§7Checkpoints: §e" + course.getCompleteCheckpointCount() + " §8(optional)");
+        sender.sendMessage("§7Leaderboard Display: " + (course.getLeaderboardDisplay() != null ? "§aSet" : "§7Optional"));
     }
     
     private boolean handleMultiplayerSetupAction(Player player, Course course, String action, String[] args) {
@@ -1232,6 +1443,17 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
                 // Reuse singleplayer logic for finish line
                 return handleSetFinish(player, args, course);
                 
+            case "setcheckpoint":
+                // Reuse singleplayer logic for checkpoints
+                return handleSetCheckpoint(player, args, course);
+                
+            case "clearcheckpoints":
+                return handleClearCheckpoints(player, course);
+                
+            case "setleaderboard":
+                // Reuse singleplayer logic for the leaderboard display
+                return handleSetLeaderboard(player, course);
+                
             default:
                 player.sendMessage("§cUnknown setup action: " + action);
                 return true;
@@ -1256,6 +1478,9 @@ public class BOCRaceCommand implements CommandExecutor, TabCompleter {
         }
         
         plugin.getStorageManager().removeCourse(courseName);
+        if (plugin.getLeaderboardDisplayManager() != null) {
+            plugin.getLeaderboardDisplayManager().removeCourse(courseName);
+        }
         sender.sendMessage("§aMultiplayer course '" + courseName + "' deleted successfully!");
         return true;
     }
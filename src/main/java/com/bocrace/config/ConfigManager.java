@@ -13,6 +13,7 @@ public class ConfigManager {
     private final BOCRacePlugin plugin;
     private FileConfiguration config;
     private FileConfiguration messages;
+    private volatile PluginSettings settings;
     
     public ConfigManager(BOCRacePlugin plugin) {
         this.plugin = plugin;
@@ -79,6 +80,32 @@ public class ConfigManager {
         
         // Auto-migrate config for updates (add missing sections)
         migrateConfig();
+        
+        // Publish a fresh typed snapshot - readers see either the old or the new one, never a mix
+        settings = PluginSettings.load(config, plugin.getLogger());
+        
+        // Re-resolve sound and particle presets
+        if (plugin.getSoundEffectManager() != null) {
+            plugin.getSoundEffectManager().reloadPresets();
+        }
+        
+        // Push new timer settings to the running HUD task
+        if (plugin.getRaceHudTask() != null) {
+            plugin.getRaceHudTask().reloadSettings();
+        }
+        
+        // Restart the placeholder snapshot refresh at the new interval
+        if (plugin.getPlaceholderSnapshotTask() != null) {
+            plugin.getPlaceholderSnapshotTask().start();
+        }
+        
+        // Rebuild leaderboard displays with the new settings
+        if (plugin.getLeaderboardDisplayManager() != null) {
+            plugin.getLeaderboardDisplayManager().reload();
+        }
+        
+        // Switch race detection mode if it changed
+        plugin.applyRaceDetectionMode();
     }
     
     /**
@@ -180,23 +207,37 @@ public class ConfigManager {
     }
     
     public boolean isDebugEnabled() {
-        return config.getBoolean("debug", false);
+        return settings.isDebug();
     }
     
     public boolean isRaceDebugEnabled() {
-        return config.getBoolean("debug-race", false);
+        return settings.isRaceDebug();
     }
     
     public boolean isSetupDebugEnabled() {
-        return config.getBoolean("debug-setup", false);
+        return settings.isSetupDebug();
     }
     
     public boolean isMultiplayerDebugEnabled() {
-        return config.getBoolean("debug-multiplayer", false);
+        return settings.isMultiplayerDebug();
     }
     
     public boolean isDataDebugEnabled() {
-        return config.getBoolean("debug-data", false);
+        return settings.isDataDebug();
+    }
+    
+    /**
+     * Current typed config snapshot (swapped on reload)
+     */
+    public PluginSettings getSettings() {
+        return settings;
+    }
+    
+    /**
+     * Compiled race protection settings (swapped on reload)
+     */
+    public ProtectionPolicy getProtectionPolicy() {
+        return settings.getProtectionPolicy();
     }
     
     public String getPrefixColor() {
@@ -0,0 +1,256 @@
+package com.bocrace.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Typed, validated snapshot of config.yml for the hot paths
+ * Built once per load by ConfigManager and swapped as a whole on reload, so readers never touch the YAML tree
+ */
+public final class PluginSettings {
+
+    // Debug flags
+    private final boolean debug;
+    private final boolean raceDebug;
+    private final boolean setupDebug;
+    private final boolean multiplayerDebug;
+    private final boolean dataDebug;
+
+    // Global effect toggles (courses can override)
+    private final boolean soundsEnabled;
+    private final boolean particlesEnabled;
+
+    // messages.* (raw, as written in config)
+    private final Map<String, String> messages;
+
+    // Shared race effect particles
+    private final double particleViewRadius;
+    private final int particleMaxPerTick;
+    private final double particleCoalesceRadius;
+
+    // Race detection
+    private final String raceDetectionMode;
+    private final double maxBoatBlocksPerTick;
+
+    // Race boat cleanup, chunk preloading and lobby returns
+    private final long sweepBudgetMs;
+    private final boolean raceChunksEnabled;
+    private final int raceChunksMargin;
+    private final int raceChunksMaxChunks;
+    private final int teleportReturnsPerTick;
+
+    // Race HUD timer
+    private final long timerUpdateIntervalMs;
+    private final int timerDegradeThreshold;
+
+    // PlaceholderAPI
+    private final long placeholderRefreshTicks;
+    private final boolean placeholderSheddingEnabled;
+    private final double placeholderSheddingMspt;
+    private final double placeholderRecoveryMspt;
+    private final String placeholderStaleMarker;
+
+    // Built-in leaderboard displays
+    private final boolean leaderboardsEnabled;
+    private final double leaderboardLineSpacing;
+
+    // Multiplayer
+    private final long raceTimeoutMs;
+    private final int maxJoinPlayers;
+    private final boolean nightVisionEnabled;
+    private final int nightVisionDurationTicks;
+    private final String raceCreatedAnnouncement;
+    private final String raceStartedAnnouncement;
+    private final String raceFinishedAnnouncement;
+    private final String raceTimeoutAnnouncement;
+    private final boolean startPrewarmBoats;
+    private final int startMountsPerTick;
+    private final int startCountdownSeconds;
+    private final ProtectionPolicy protectionPolicy;
+
+    private PluginSettings(FileConfiguration config, Logger logger) {
+        this.debug = config.getBoolean("debug", false);
+        this.raceDebug = config.getBoolean("debug-race", false);
+        this.setupDebug = config.getBoolean("debug-setup", false);
+        this.multiplayerDebug = config.getBoolean("debug-multiplayer", false);
+        this.dataDebug = config.getBoolean("debug-data", false);
+
+        this.soundsEnabled = config.getBoolean("sounds.enabled", true);
+        this.particlesEnabled = config.getBoolean("particles.enabled", true);
+
+        Map<String, String> loadedMessages = new HashMap<>();
+        ConfigurationSection messageSection = config.getConfigurationSection("messages");
+        if (messageSection != null) {
+            for (String key : messageSection.getKeys(false)) {
+                String value = messageSection.getString(key);
+                if (value != null) {
+                    loadedMessages.put(key, value);
+                }
+            }
+        }
+        this.messages = Collections.unmodifiableMap(loadedMessages);
+
+        this.particleViewRadius = Math.max(1.0, config.getDouble("particles.view-radius", 32.0));
+        this.particleMaxPerTick = Math.max(0, config.getInt("particles.max-per-tick", 400));
+        this.particleCoalesceRadius = Math.max(0.0, config.getDouble("particles.coalesce-radius", 3.0));
+
+        String detectionMode = config.getString("race-detection.mode", "event").toLowerCase();
+        if (!detectionMode.equals("event") && !detectionMode.equals("tick")) {
+            logger.warning("race-detection.mode must be \"event\" or \"tick\" (was " + detectionMode + ") - using event");
+            detectionMode = "event";
+        }
+        this.raceDetectionMode = detectionMode;
+        this.maxBoatBlocksPerTick = config.getDouble("race-detection.max-boat-blocks-per-tick", 4.0);
+
+        this.sweepBudgetMs = atLeast(config, logger, "race-cleanup.sweep-budget-ms", 1, 2);
+        this.raceChunksEnabled = config.getBoolean("race-chunks.enabled", true);
+        this.raceChunksMargin = (int) atLeast(config, logger, "race-chunks.margin", 0, 1);
+        this.raceChunksMaxChunks = (int) atLeast(config, logger, "race-chunks.max-chunks", 1, 400);
+        this.teleportReturnsPerTick = (int) atLeast(config, logger, "teleport.returns-per-tick", 1, 4);
+
+        this.timerUpdateIntervalMs = atLeast(config, logger, "timer.update-interval", 1, 100);
+        this.timerDegradeThreshold = (int) atLeast(config, logger, "timer.degrade-threshold", 1, 20);
+
+        long refreshTicks = config.getLong("placeholders.refresh-ticks", 20);
+        if (refreshTicks < 1) {
+            logger.warning("placeholders.refresh-ticks must be at least 1 (was " + refreshTicks + ") - using 20");
+            refreshTicks = 20;
+        }
+        this.placeholderRefreshTicks = refreshTicks;
+
+        this.placeholderSheddingEnabled = config.getBoolean("placeholders.load-shedding.enabled", true);
+        double sheddingMspt = config.getDouble("placeholders.load-shedding.mspt-threshold", 50.0);
+        if (sheddingMspt <= 0) {
+            logger.warning("placeholders.load-shedding.mspt-threshold must be positive (was " + sheddingMspt + ") - using 50");
+            sheddingMspt = 50.0;
+        }
+        double recoveryMspt = config.getDouble("placeholders.load-shedding.recovery-mspt", 40.0);
+        if (recoveryMspt <= 0 || recoveryMspt > sheddingMspt) {
+            logger.warning("placeholders.load-shedding.recovery-mspt must be between 0 and mspt-threshold (was " + recoveryMspt + ") - using " + sheddingMspt);
+            recoveryMspt = sheddingMspt;
+        }
+        this.placeholderSheddingMspt = sheddingMspt;
+        this.placeholderRecoveryMspt = recoveryMspt;
+        this.placeholderStaleMarker = colorize(config.getString("placeholders.load-shedding.stale-marker", "..."));
+
+        this.leaderboardsEnabled = config.getBoolean("leaderboards.enabled", true);
+        this.leaderboardLineSpacing = Math.max(0.1, config.getDouble("leaderboards.line-spacing", 0.3));
+
+        long timeoutSeconds = config.getLong("multiplayer.race-timeout", 300);
+        if (timeoutSeconds <= 0) {
+            logger.warning("multiplayer.race-timeout must be positive (was " + timeoutSeconds + ") - using 300");
+            timeoutSeconds = 300;
+        }
+        this.raceTimeoutMs = timeoutSeconds * 1000;
+
+        int joinPlayers = config.getInt("multiplayer.max-join-players", 9);
+        if (joinPlayers < 1) {
+            logger.warning("multiplayer.max-join-players must be at least 1 (was " + joinPlayers + ") - using 9");
+            joinPlayers = 9;
+        }
+        this.maxJoinPlayers = joinPlayers;
+
+        this.nightVisionEnabled = config.getBoolean("multiplayer.effects.night-vision.enabled", true);
+        this.nightVisionDurationTicks = Math.max(0, config.getInt("multiplayer.effects.night-vision.duration", 600)) * 20;
+
+        this.raceCreatedAnnouncement = colorize(config.getString("multiplayer.announcements.race-created",
+                "&6{player} &eis starting a multiplayer race on &a{course}&e! Join at the race lobby for prizes!"));
+        this.raceStartedAnnouncement = colorize(config.getString("multiplayer.announcements.race-started",
+                "&aRace started on &6{course}&a! &7({players} racers)"));
+        this.raceFinishedAnnouncement = colorize(config.getString("multiplayer.announcements.race-finished",
+                "&6Race completed on &a{course}&6! Results posted."));
+        this.raceTimeoutAnnouncement = colorize(config.getString("multiplayer.announcements.race-timeout",
+                "&cRace on &6{course} &chas timed out! Unfinished players disqualified."));
+
+        this.startPrewarmBoats = config.getBoolean("multiplayer.start.prewarm-boats", true);
+        this.startMountsPerTick = (int) atLeast(config, logger, "multiplayer.start.mounts-per-tick", 1, 2);
+        this.startCountdownSeconds = (int) atLeast(config, logger, "multiplayer.start.countdown-seconds", 0, 3);
+
+        this.protectionPolicy = ProtectionPolicy.compile(config);
+    }
+
+    /**
+     * Whole-number setting with a lower bound, warning about (and replacing) values below it
+     */
+    private static long atLeast(FileConfiguration config, Logger logger, String path, long min, long defaultValue) {
+        long value = config.getLong(path, defaultValue);
+        if (value < min) {
+            logger.warning(path + " must be at least " + min + " (was " + value + ") - using " + defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Build a snapshot from the current config, warning about (and replacing) invalid values
+     */
+    public static PluginSettings load(FileConfiguration config, Logger logger) {
+        return new PluginSettings(config, logger);
+    }
+
+    private static String colorize(String text) {
+        return text == null ? "" : text.replace("&", "§");
+    }
+
+    public boolean isDebug() { return debug; }
+    public boolean isRaceDebug() { return raceDebug; }
+    public boolean isSetupDebug() { return setupDebug; }
+    public boolean isMultiplayerDebug() { return multiplayerDebug; }
+    public boolean isDataDebug() { return dataDebug; }
+
+    public boolean isSoundsEnabled() { return soundsEnabled; }
+    public boolean isParticlesEnabled() { return particlesEnabled; }
+
+    /**
+     * Global message text for a messages.* key, or the default if it isn't set
+     */
+    public String getMessage(String key, String defaultValue) {
+        return messages.getOrDefault(key, defaultValue);
+    }
+
+    public double getParticleViewRadius() { return particleViewRadius; }
+    public int getParticleMaxPerTick() { return particleMaxPerTick; }
+    public double getParticleCoalesceRadius() { return particleCoalesceRadius; }
+
+    public String getRaceDetectionMode() { return raceDetectionMode; }
+    public double getMaxBoatBlocksPerTick() { return maxBoatBlocksPerTick; }
+
+    public long getSweepBudgetMs() { return sweepBudgetMs; }
+    public boolean isRaceChunksEnabled() { return raceChunksEnabled; }
+    public int getRaceChunksMargin() { return raceChunksMargin; }
+    public int getRaceChunksMaxChunks() { return raceChunksMaxChunks; }
+    public int getTeleportReturnsPerTick() { return teleportReturnsPerTick; }
+
+    public long getTimerUpdateIntervalMs() { return timerUpdateIntervalMs; }
+    public int getTimerDegradeThreshold() { return timerDegradeThreshold; }
+
+    public long getPlaceholderRefreshTicks() { return placeholderRefreshTicks; }
+    public boolean isPlaceholderSheddingEnabled() { return placeholderSheddingEnabled; }
+    public double getPlaceholderSheddingMspt() { return placeholderSheddingMspt; }
+    public double getPlaceholderRecoveryMspt() { return placeholderRecoveryMspt; }
+    public String getPlaceholderStaleMarker() { return placeholderStaleMarker; }
+
+    public boolean isLeaderboardsEnabled() { return leaderboardsEnabled; }
+    public double getLeaderboardLineSpacing() { return leaderboardLineSpacing; }
+
+    public long getRaceTimeoutMs() { return raceTimeoutMs; }
+    public int getMaxJoinPlayers() { return maxJoinPlayers; }
+    public boolean isNightVisionEnabled() { return nightVisionEnabled; }
+    public int getNightVisionDurationTicks() { return nightVisionDurationTicks; }
+    public boolean isStartPrewarmBoats() { return startPrewarmBoats; }
+    public int getStartMountsPerTick() { return startMountsPerTick; }
+    public int getStartCountdownSeconds() { return startCountdownSeconds; }
+
+    // Announcements are already colour-translated; callers only fill in placeholders
+    public String getRaceCreatedAnnouncement() { return raceCreatedAnnouncement; }
+    public String getRaceStartedAnnouncement() { return raceStartedAnnouncement; }
+    public String getRaceFinishedAnnouncement() { return raceFinishedAnnouncement; }
+    public String getRaceTimeoutAnnouncement() { return raceTimeoutAnnouncement; }
+
+    public ProtectionPolicy getProtectionPolicy() { return protectionPolicy; }
+}
@@ -0,0 +1,79 @@
+package com.bocrace.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the multiplayer.player-protection settings
+ * Compiled once per config load so the damage path is a single EnumSet check
+ */
+public final class ProtectionPolicy {
+
+    private static final Set<DamageCause> MOB_CAUSES = EnumSet.of(DamageCause.ENTITY_ATTACK, DamageCause.ENTITY_SWEEP_ATTACK);
+    private static final Set<DamageCause> EXPLOSION_CAUSES = EnumSet.of(DamageCause.ENTITY_EXPLOSION, DamageCause.BLOCK_EXPLOSION);
+    private static final Set<DamageCause> PVP_CAUSES = EnumSet.of(DamageCause.PROJECTILE);
+
+    private final Set<DamageCause> cancelledCauses;
+    private final boolean protectBoats;
+    private final boolean preventItemDrops;
+    private final boolean deathDisqualifies;
+
+    private ProtectionPolicy(Set<DamageCause> cancelledCauses, boolean protectBoats,
+                             boolean preventItemDrops, boolean deathDisqualifies) {
+        this.cancelledCauses = cancelledCauses;
+        this.protectBoats = protectBoats;
+        this.preventItemDrops = preventItemDrops;
+        this.deathDisqualifies = deathDisqualifies;
+    }
+
+    /**
+     * Build the policy from the current config
+     */
+    public static ProtectionPolicy compile(FileConfiguration config) {
+        String path = "multiplayer.player-protection.";
+        EnumSet<DamageCause> causes = EnumSet.noneOf(DamageCause.class);
+
+        if (config.getBoolean(path + "enabled", true)) {
+            if (config.getBoolean(path + "prevent-mob-damage", true)) causes.addAll(MOB_CAUSES);
+            if (config.getBoolean(path + "prevent-explosion-damage", true)) causes.addAll(EXPLOSION_CAUSES);
+            if (config.getBoolean(path + "prevent-fall-damage", false)) causes.add(DamageCause.FALL);
+            if (config.getBoolean(path + "prevent-drowning", true)) causes.add(DamageCause.DROWNING);
+            if (config.getBoolean(path + "prevent-pvp", true)) causes.addAll(PVP_CAUSES);
+
+            if (config.getBoolean(path + "prevent-all-damage", false)) {
+                // Every cause without its own toggle
+                EnumSet<DamageCause> other = EnumSet.allOf(DamageCause.class);
+                other.removeAll(MOB_CAUSES);
+                other.removeAll(EXPLOSION_CAUSES);
+                other.removeAll(PVP_CAUSES);
+                other.remove(DamageCause.FALL);
+                other.remove(DamageCause.DROWNING);
+                causes.addAll(other);
+            }
+        }
+
+        return new ProtectionPolicy(causes,
+                config.getBoolean(path + "protect-boats", true),
+                config.getBoolean(path + "prevent-item-drops", true),
+                config.getBoolean(path + "death-disqualifies", true));
+    }
+
+    public boolean cancels(DamageCause cause) {
+        return cancelledCauses.contains(cause);
+    }
+
+    public boolean isProtectBoats() {
+        return protectBoats;
+    }
+
+    public boolean isPreventItemDrops() {
+        return preventItemDrops;
+    }
+
+    public boolean isDeathDisqualifies() {
+        return deathDisqualifies;
+    }
+}
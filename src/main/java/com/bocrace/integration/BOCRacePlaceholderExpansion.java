@@ -3,16 +3,20 @@ package com.bocrace.integration;
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
 import com.bocrace.model.RaceRecord;
-import com.bocrace.model.Period;
 import com.bocrace.race.ActiveRace;
 import com.bocrace.race.MultiplayerRace;
+import com.bocrace.util.TickLoadMonitor;
+import com.bocrace.util.TimeFormat;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * PlaceholderAPI expansion for BOCRacePlugin
@@ -22,8 +26,20 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
     
     private final BOCRacePlugin plugin;
     
+    // Params string -> compiled descriptor (bounded - a full map is cleared, so junk params can't pin it)
+    private static final int MAX_CACHED_DESCRIPTORS = 4096;
+    private final Map<String, PlaceholderDescriptor> descriptors = new ConcurrentHashMap<>();
+    
+    private final PlayerPlaceholderCache playerCache;
+    private final PlaceholderMetrics metrics;
+    
+    // Slow requests at or above this are logged (debug) when they enter the slowest list
+    private static final long SLOW_LOG_NANOS = 1_000_000;
+    
     public BOCRacePlaceholderExpansion(BOCRacePlugin plugin) {
         this.plugin = plugin;
+        this.playerCache = plugin.getPlayerPlaceholderCache();
+        this.metrics = plugin.getPlaceholderMetrics();
     }
     
     @Override
@@ -53,173 +69,135 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
     
     @Override
     public @Nullable String onPlaceholderRequest(Player player, @NotNull String params) {
-        if (player == null) {
-            return handleNonPlayerPlaceholders(params);
-        }
+        long start = System.nanoTime();
+        PlaceholderDescriptor descriptor = getDescriptor(params);
+        String value = resolve(player, descriptor);
         
-        // Handle player-specific placeholders
-        return handlePlayerPlaceholders(player, params);
+        long elapsed = System.nanoTime() - start;
+        if (metrics.record(descriptor, params, elapsed) && elapsed >= SLOW_LOG_NANOS) {
+            plugin.debugLog("🐢 Slow placeholder '" + params + "' took " + (elapsed / 1000) + "µs");
+        }
+        return value;
     }
     
     /**
-     * Handle placeholders that don't require a specific player context
+     * Answer a compiled placeholder
      */
-    private String handleNonPlayerPlaceholders(String params) {
-        // Course status placeholders: course_<name>_status
-        if (params.startsWith("course_") && params.endsWith("_status")) {
-            String courseName = extractCourseName(params, "course_", "_status");
-            return getCourseStatus(courseName);
+    private String resolve(Player player, PlaceholderDescriptor descriptor) {
+        // Player placeholders have nothing to answer without a player
+        if (descriptor.getKind().needsPlayer() && player == null) {
+            return null;
         }
+        UUID playerUuid = player != null ? player.getUniqueId() : null;
         
-        // Course record placeholders: course_<name>_record
-        if (params.startsWith("course_") && params.endsWith("_record")) {
-            String courseName = extractCourseName(params, "course_", "_record");
-            return getCourseRecord(courseName);
-        }
-        
-        // Course record time placeholders: course_<name>_record_time
-        if (params.startsWith("course_") && params.endsWith("_record_time")) {
-            String courseName = extractCourseName(params, "course_", "_record_time");
-            return getCourseRecordTime(courseName);
-        }
-        
-        // Course usage placeholders: course_<name>_usage
-        if (params.startsWith("course_") && params.endsWith("_usage")) {
-            String courseName = extractCourseName(params, "course_", "_usage");
-            return getCourseUsage(courseName);
-        }
-        
-        // Period-based leaderboard placeholders: leaderboard_<course>_<period>_name_<position> or leaderboard_<course>_<period>_time_<position>
-        if (params.startsWith("leaderboard_") && (params.contains("_daily_") || params.contains("_weekly_") || params.contains("_monthly_"))) {
-            return handlePeriodLeaderboardPlaceholder(params);
-        }
-        
-        // Leaderboard placeholders: leaderboard_<course>_<position>
-        if (params.startsWith("leaderboard_")) {
-            return handleLeaderboardPlaceholder(params);
-        }
-        
-        // Global statistics
-        switch (params.toLowerCase()) {
-            case "total_courses":
+        switch (descriptor.getKind()) {
+            case PLAYER_STATUS:
+                return getPlayerStatus(playerUuid);
+            case PLAYER_CURRENT_TIME:
+                return getPlayerCurrentTime(playerUuid);
+            case PLAYER_COURSE:
+                return getPlayerCurrentCourse(playerUuid);
+            case PLAYER_POSITION:
+                return getPlayerPosition(playerUuid);
+            // Record-backed values only change with the player's records - served from the per-player cache
+            // (and not reloaded at all while the tick is overrunning)
+            case PLAYER_RACES_COMPLETED:
+                return recordValue(player, "races_completed", () -> getPlayerRacesCompleted(player));
+            case PLAYER_PB:
+                return recordValue(player, "pb_" + descriptor.getCourse(), () -> getPlayerPersonalBest(player, descriptor.getCourse()));
+            case PLAYER_LAST_RACE_STATUS:
+                return recordValue(player, "last_race_status", () -> getPlayerLastRaceStatus(player));
+            case PLAYER_DQ_COUNT:
+                return recordValue(player, "dq_count", () -> getPlayerDQCount(player));
+            case PLAYER_COMPLETION_RATE:
+                return recordValue(player, "completion_rate", () -> getPlayerCompletionRate(player));
+            case PLAYER_LAST_DQ_REASON:
+                return recordValue(player, "last_dq_reason", () -> getPlayerLastDQReason(player));
+            case MP_PLAYERS_JOINED:
+            case MP_RACE_STATUS:
+            case MP_TIME_REMAINING:
+            case MP_LEADER:
+            case MP_LEADER_TIME:
+                return handleMultiplayerPlaceholders(playerUuid, descriptor.getKind());
+            case COURSE_DQ_RATE:
+                return getCourseDQRate(descriptor.getCourse());
+            case COURSE_STATUS:
+                return getCourseStatus(descriptor.getCourse());
+            case COURSE_RECORD:
+                return getCourseRecord(descriptor.getCourse());
+            case COURSE_RECORD_TIME:
+                return getCourseRecordTime(descriptor.getCourse());
+            case COURSE_USAGE:
+                return getCourseUsage(descriptor.getCourse());
+            case LEADERBOARD:
+                return getLeaderboardValue(descriptor);
+            case TOTAL_COURSES:
                 return String.valueOf(plugin.getStorageManager().getAllCourses().size());
-            case "active_races":
+            case ACTIVE_RACES:
                 return String.valueOf(plugin.getRaceManager().getAllActiveRaces().size());
-            case "active_mp_races":
+            case ACTIVE_MP_RACES:
                 return String.valueOf(plugin.getMultiplayerRaceManager().getActiveRaceCount());
+            case FIXED:
+                return descriptor.getText();
             default:
                 return null; // Placeholder not found
         }
     }
     
     /**
-     * Handle placeholders that require a player context
+     * Record-backed player value from the per-player cache
+     * While the tick is overrunning a cache miss doesn't read records - the last known value
+     * (or the configured stale marker) is returned instead, and fresh loads resume on recovery
      */
-    private String handlePlayerPlaceholders(Player player, String params) {
-        UUID playerUuid = player.getUniqueId();
-        
-        // Player status placeholders
-        switch (params.toLowerCase()) {
-            case "player_status":
-                return getPlayerStatus(playerUuid);
-            case "player_current_time":
-                return getPlayerCurrentTime(playerUuid);
-            case "player_course":
-                return getPlayerCurrentCourse(playerUuid);
-            case "player_position":
-                return getPlayerPosition(playerUuid);
-            case "player_races_completed":
-                return getPlayerRacesCompleted(playerUuid);
-        }
-        
-        // Personal best placeholders: player_pb_<course>
-        if (params.startsWith("player_pb_")) {
-            String courseName = params.substring("player_pb_".length());
-            return getPlayerPersonalBest(playerUuid, courseName);
-        }
-        
-        // Multiplayer race placeholders
-        if (params.startsWith("mp_")) {
-            return handleMultiplayerPlaceholders(playerUuid, params);
-        }
-        
-        // Course status placeholders: course_<name>_status (also handle in player context)
-        if (params.startsWith("course_") && params.endsWith("_status")) {
-            String courseName = extractCourseName(params, "course_", "_status");
-            return getCourseStatus(courseName);
-        }
-        
-        // Course record placeholders: course_<name>_record (also handle in player context)
-        if (params.startsWith("course_") && params.endsWith("_record")) {
-            String courseName = extractCourseName(params, "course_", "_record");
-            return getCourseRecord(courseName);
-        }
-        
-        // Course record time placeholders: course_<name>_record_time (also handle in player context)
-        if (params.startsWith("course_") && params.endsWith("_record_time")) {
-            String courseName = extractCourseName(params, "course_", "_record_time");
-            return getCourseRecordTime(courseName);
-        }
-        
-        // Course usage placeholders: course_<name>_usage (also handle in player context)
-        if (params.startsWith("course_") && params.endsWith("_usage")) {
-            String courseName = extractCourseName(params, "course_", "_usage");
-            return getCourseUsage(courseName);
-        }
-        
-        // Period-based leaderboard placeholders: leaderboard_<course>_<period>_name_<position> or leaderboard_<course>_<period>_time_<position> (also handle in player context)
-        if (params.startsWith("leaderboard_") && (params.contains("_daily_") || params.contains("_weekly_") || params.contains("_monthly_"))) {
-            return handlePeriodLeaderboardPlaceholder(params);
+    private String recordValue(Player player, String key, Supplier<String> loader) {
+        TickLoadMonitor tickMonitor = plugin.getTickLoadMonitor();
+        if (tickMonitor == null || !tickMonitor.isOverloaded()) {
+            return playerCache.get(player, key, loader);
         }
         
-        // Leaderboard placeholders: leaderboard_<course>_<position> (also handle in player context)
-        if (params.startsWith("leaderboard_")) {
-            return handleLeaderboardPlaceholder(params);
+        String value = playerCache.getLastKnown(player, key);
+        if (value != null) {
+            return value;
         }
-        
-        // DQ-related placeholders
-        switch (params.toLowerCase()) {
-            case "player_last_race_status":
-                return getPlayerLastRaceStatus(playerUuid);
-            case "player_dq_count":
-                return getPlayerDQCount(playerUuid);
-            case "player_completion_rate":
-                return getPlayerCompletionRate(playerUuid);
-            case "player_last_dq_reason":
-                return getPlayerLastDQReason(playerUuid);
+        metrics.recordShed();
+        return plugin.getConfigManager().getSettings().getPlaceholderStaleMarker();
+    }
+    
+    /**
+     * Compiled form of a params string - parsed on first sight, then served from the cache
+     * Unknown params are cached too, so junk requests don't get re-parsed either
+     * When the cache fills up it starts over - live params recompile once and are cached again
+     */
+    private PlaceholderDescriptor getDescriptor(String params) {
+        PlaceholderDescriptor descriptor = descriptors.get(params);
+        if (descriptor != null) {
+            return descriptor;
         }
         
-        // Course DQ rate placeholders: course_<name>_dq_rate
-        if (params.startsWith("course_") && params.endsWith("_dq_rate")) {
-            String courseName = extractCourseName(params, "course_", "_dq_rate");
-            return getCourseDQRate(courseName);
+        descriptor = PlaceholderDescriptor.compile(params);
+        if (descriptors.size() >= MAX_CACHED_DESCRIPTORS) {
+            descriptors.clear();
+            plugin.debugLog("Placeholder descriptor cache full (" + MAX_CACHED_DESCRIPTORS + ") - cleared");
         }
-        
-        // Global statistics (also handle in player context)
-        switch (params.toLowerCase()) {
-            case "total_courses":
-                return String.valueOf(plugin.getStorageManager().getAllCourses().size());
-            case "active_races":
-                return String.valueOf(plugin.getRaceManager().getAllActiveRaces().size());
-            case "active_mp_races":
-                return String.valueOf(plugin.getMultiplayerRaceManager().getActiveRaceCount());
+        descriptors.put(params, descriptor);
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("[DEBUG] Compiled placeholder '" + params + "' -> " + descriptor);
         }
-        
-        return null; // Placeholder not found
+        return descriptor;
     }
     
     /**
      * Handle multiplayer-specific placeholders
      */
-    private String handleMultiplayerPlaceholders(UUID playerUuid, String params) {
+    private String handleMultiplayerPlaceholders(UUID playerUuid, PlaceholderDescriptor.Kind kind) {
         MultiplayerRace mpRace = plugin.getMultiplayerRaceManager().getRaceByPlayer(playerUuid);
         
-        switch (params.toLowerCase()) {
-            case "mp_players_joined":
+        switch (kind) {
+            case MP_PLAYERS_JOINED:
                 return mpRace != null ? String.valueOf(mpRace.getPlayerCount()) : "0";
-            case "mp_race_status":
+            case MP_RACE_STATUS:
                 return mpRace != null ? mpRace.getState().toString() : "Not in race";
-            case "mp_time_remaining":
+            case MP_TIME_REMAINING:
                 // Calculate time remaining until race timeout
                 if (mpRace != null) {
                     long elapsed = System.currentTimeMillis() - mpRace.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
@@ -227,14 +205,14 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
                     return remaining > 0 ? formatTimeRemaining(remaining) : "Expired";
                 }
                 return "N/A";
-            case "mp_leader":
+            case MP_LEADER:
                 // Find current leader (player with best time so far)
                 if (mpRace != null && mpRace.getState() == MultiplayerRace.State.RUNNING) {
                     String leaderName = findCurrentLeader(mpRace);
                     return leaderName != null ? leaderName : "N/A";
                 }
                 return "N/A";
-            case "mp_leader_time":
+            case MP_LEADER_TIME:
                 // Get leader's current best time
                 if (mpRace != null && mpRace.getState() == MultiplayerRace.State.RUNNING) {
                     long leaderTime = findCurrentLeaderTime(mpRace);
@@ -246,14 +224,6 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
         }
     }
     
-    // Helper methods for extracting course names from placeholders
-    private String extractCourseName(String params, String prefix, String suffix) {
-        if (params.startsWith(prefix) && params.endsWith(suffix)) {
-            return params.substring(prefix.length(), params.length() - suffix.length());
-        }
-        return null;
-    }
-    
     // Course status methods
     private String getCourseStatus(String courseName) {
         Course course = plugin.getStorageManager().getCourse(courseName);
@@ -287,21 +257,21 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
     }
     
     private String getCourseRecord(String courseName) {
-        try {
-            List<RaceRecord> topTimes = plugin.getRecordManager().getTopTimes(courseName, 1);
-            return !topTimes.isEmpty() ? topTimes.get(0).getPlayer() : "No Record";
-        } catch (Exception e) {
-            return "Error";
-        }
+        PlaceholderSnapshot.CourseBoard board = getBoard(courseName);
+        return board != null ? board.getRecordName() : "No Record";
     }
     
     private String getCourseRecordTime(String courseName) {
-        try {
-            List<RaceRecord> topTimes = plugin.getRecordManager().getTopTimes(courseName, 1);
-            return !topTimes.isEmpty() ? formatTime((long)(topTimes.get(0).getTime() * 1000)) : "No Record";
-        } catch (Exception e) {
-            return "Error";
-        }
+        PlaceholderSnapshot.CourseBoard board = getBoard(courseName);
+        return board != null ? board.getRecordTime() : "No Record";
+    }
+    
+    /**
+     * Precomputed leaderboard data for a course (null until the snapshot task has built it)
+     */
+    private PlaceholderSnapshot.CourseBoard getBoard(String courseName) {
+        PlaceholderSnapshotTask snapshotTask = plugin.getPlaceholderSnapshotTask();
+        return snapshotTask != null ? snapshotTask.getSnapshot().getCourse(courseName) : null;
     }
     
     private String getCourseUsage(String courseName) {
@@ -374,278 +344,46 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
         return "N/A";
     }
     
-    private String getPlayerRacesCompleted(UUID playerUuid) {
+    private String getPlayerRacesCompleted(Player player) {
         try {
-            // Get player name from UUID
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player != null) {
-                return String.valueOf(plugin.getRecordManager().getPlayerTotalRaces(player.getName()));
-            }
-            return "0";
+            return String.valueOf(plugin.getRecordManager().getPlayerTotalRaces(player.getName()));
         } catch (Exception e) {
             return "0";
         }
     }
     
-    private String getPlayerPersonalBest(UUID playerUuid, String courseName) {
+    private String getPlayerPersonalBest(Player player, String courseName) {
         try {
-            // Get player name from UUID
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player != null) {
-                RaceRecord pb = plugin.getRecordManager().getPlayerBestTime(player.getName(), courseName);
-                return pb != null ? formatTime((long)(pb.getTime() * 1000), courseName) : "No PB";
-            }
-            return "No PB";
+            RaceRecord pb = plugin.getRecordManager().getPlayerBestTime(player.getName(), courseName);
+            return pb != null ? formatTime((long)(pb.getTime() * 1000), courseName) : "No PB";
         } catch (Exception e) {
             return "Error";
         }
     }
     
     // Leaderboard handling
-    private String handleLeaderboardPlaceholder(String params) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().info("[DEBUG] Leaderboard placeholder requested: " + params);
-        }
-        
-        // Check for new format: leaderboard_<course>_name_<position> or leaderboard_<course>_time_<position>
-        if (params.contains("_name_") || params.contains("_time_")) {
-            return handleNewLeaderboardFormat(params);
-        }
-        
-        // Original format: leaderboard_<course>_<position> (backward compatibility)
-        return handleOriginalLeaderboardFormat(params);
-    }
-    
-    private String handleNewLeaderboardFormat(String params) {
-        // Format: leaderboard_<course>_name_<position> or leaderboard_<course>_time_<position>
-        String[] parts = params.split("_");
-        if (parts.length >= 4) {
-            String position = parts[parts.length - 1];
-            String type = parts[parts.length - 2]; // "name" or "time"
-            String courseName = String.join("_", java.util.Arrays.copyOfRange(parts, 1, parts.length - 2));
-            
-            try {
-                int pos = Integer.parseInt(position);
-                List<RaceRecord> leaderboard = plugin.getRecordManager().getTopTimes(courseName, 10);
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] Parsed leaderboard request - Course: " + courseName + ", Type: " + type + ", Position: " + pos);
-                }
-                
-                if (pos > 0 && pos <= leaderboard.size()) {
-                    RaceRecord record = leaderboard.get(pos - 1);
-                    
-                    if ("name".equals(type)) {
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().info("[DEBUG] Returning player name: " + record.getPlayer());
-                        }
-                        return record.getPlayer();
-                    } else if ("time".equals(type)) {
-                        String formattedTime = formatTime((long)(record.getTime() * 1000), courseName);
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().info("[DEBUG] Returning formatted time: " + formattedTime);
-                        }
-                        return formattedTime;
-                    }
-                }
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] No entry found for position " + pos);
-                }
-                return "N/A";
-            } catch (NumberFormatException e) {
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().warning("[DEBUG] Invalid position in leaderboard placeholder: " + position);
-                }
-                return "Invalid Position";
-            } catch (Exception e) {
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().warning("[DEBUG] Error processing leaderboard placeholder: " + e.getMessage());
-                }
-                return "Error";
-            }
-        }
-        
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().warning("[DEBUG] Invalid leaderboard placeholder format: " + params);
-        }
-        return "Invalid Format";
-    }
-    
-    private String handleOriginalLeaderboardFormat(String params) {
-        // Format: leaderboard_<course>_<position> (backward compatibility)
-        String[] parts = params.split("_");
-        if (parts.length >= 3) {
-            String position = parts[parts.length - 1];
-            String courseName = String.join("_", java.util.Arrays.copyOfRange(parts, 1, parts.length - 1));
-            
-            try {
-                int pos = Integer.parseInt(position);
-                List<RaceRecord> leaderboard = plugin.getRecordManager().getTopTimes(courseName, 10);
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] Original format leaderboard request - Course: " + courseName + ", Position: " + pos);
-                }
-                
-                if (pos > 0 && pos <= leaderboard.size()) {
-                    RaceRecord record = leaderboard.get(pos - 1);
-                    String result = record.getPlayer() + " - " + formatTime((long)(record.getTime() * 1000), courseName);
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().info("[DEBUG] Returning combined result: " + result);
-                    }
-                    return result;
-                }
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] No entry found for position " + pos);
-                }
-                return "N/A";
-            } catch (NumberFormatException e) {
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().warning("[DEBUG] Invalid position in original leaderboard placeholder: " + position);
-                }
-                return "Invalid Position";
-            } catch (Exception e) {
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().warning("[DEBUG] Error processing original leaderboard placeholder: " + e.getMessage());
-                }
-                return "Error";
-            }
-        }
-        
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().warning("[DEBUG] Invalid original leaderboard placeholder format: " + params);
-        }
-        return "Invalid Format";
-    }
-    
-    /**
-     * Handle period-based leaderboard placeholders (daily/weekly/monthly)
-     * Format: leaderboard_<course>_<period>_name_<position> or leaderboard_<course>_<period>_time_<position>
-     */
-    private String handlePeriodLeaderboardPlaceholder(String params) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().info("[DEBUG] Period leaderboard placeholder requested: " + params);
-        }
-        
-        String[] parts = params.split("_");
-        
-        // Handle two formats:
-        // Format 1: leaderboard_<course>_<period>_<position> (returns combined name - time)
-        // Format 2: leaderboard_<course>_<period>_<type>_<position> (returns name or time)
-        
-        String position, type, periodStr, courseName;
-        
-        if (parts.length >= 4) {
-            // Try format 1 first: leaderboard_<course>_<period>_<position>
-            try {
-                position = parts[parts.length - 1];
-                periodStr = parts[parts.length - 2];
-                courseName = String.join("_", java.util.Arrays.copyOfRange(parts, 1, parts.length - 2));
-                
-                // Validate period
-                Period period = Period.valueOf(periodStr.toUpperCase());
-                int pos = Integer.parseInt(position);
-                
-                List<RaceRecord> leaderboard = plugin.getRecordManager().getTopTimesForPeriod(courseName, period, 10);
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] Parsed period leaderboard request (format 1) - Course: " + courseName + 
-                        ", Period: " + period + ", Position: " + pos);
-                }
-                
-                if (pos > 0 && pos <= leaderboard.size()) {
-                    RaceRecord record = leaderboard.get(pos - 1);
-                    String result = record.getPlayer() + " - " + formatTime((long)(record.getTime() * 1000), courseName);
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().info("[DEBUG] Returning combined result: " + result);
-                    }
-                    return result;
-                }
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("[DEBUG] No entry found for position " + pos + " in period " + period);
-                }
-                return "N/A";
-                
-            } catch (IllegalArgumentException e) {
-                // Not a valid period, try format 2
-                if (parts.length >= 5) {
-                    position = parts[parts.length - 1];
-                    type = parts[parts.length - 2]; // "name" or "time"
-                    periodStr = parts[parts.length - 3]; // "daily", "weekly", or "monthly"
-                    courseName = String.join("_", java.util.Arrays.copyOfRange(parts, 1, parts.length - 3));
-                    
-                    try {
-                        int pos = Integer.parseInt(position);
-                        Period period = Period.valueOf(periodStr.toUpperCase());
-                        
-                        List<RaceRecord> leaderboard = plugin.getRecordManager().getTopTimesForPeriod(courseName, period, 10);
-                        
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().info("[DEBUG] Parsed period leaderboard request (format 2) - Course: " + courseName + 
-                                ", Period: " + period + ", Type: " + type + ", Position: " + pos);
-                        }
-                        
-                        if (pos > 0 && pos <= leaderboard.size()) {
-                            RaceRecord record = leaderboard.get(pos - 1);
-                            
-                            if ("name".equals(type)) {
-                                if (plugin.getConfigManager().isDebugEnabled()) {
-                                    plugin.getLogger().info("[DEBUG] Returning player name: " + record.getPlayer());
-                                }
-                                return record.getPlayer();
-                            } else if ("time".equals(type)) {
-                                String formattedTime = formatTime((long)(record.getTime() * 1000), courseName);
-                                if (plugin.getConfigManager().isDebugEnabled()) {
-                                    plugin.getLogger().info("[DEBUG] Returning formatted time: " + formattedTime);
-                                }
-                                return formattedTime;
-                            }
-                        }
-                        
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().info("[DEBUG] No entry found for position " + pos + " in period " + period);
-                        }
-                        return "N/A";
-                    } catch (NumberFormatException e2) {
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().warning("[DEBUG] Invalid position in period leaderboard placeholder: " + position);
-                        }
-                        return "Invalid Position";
-                    } catch (IllegalArgumentException e2) {
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().warning("[DEBUG] Invalid period in leaderboard placeholder: " + periodStr);
-                        }
-                        return "Invalid Period";
-                    } catch (Exception e2) {
-                        if (plugin.getConfigManager().isDebugEnabled()) {
-                            plugin.getLogger().warning("[DEBUG] Error processing period leaderboard placeholder (format 2): " + e2.getMessage());
-                        }
-                        return "Error";
-                    }
-                } else {
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().warning("[DEBUG] Invalid period leaderboard placeholder format: " + params);
-                    }
-                    return "Invalid Format";
-                }
-            }
-        }
-        
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().warning("[DEBUG] Invalid period leaderboard placeholder format: " + params);
+    private String getLeaderboardValue(PlaceholderDescriptor descriptor) {
+        PlaceholderSnapshot.CourseBoard board = getBoard(descriptor.getCourse());
+        if (board == null || descriptor.getField() == null) return "N/A";
+        
+        PlaceholderSnapshot.Entry entry = descriptor.getPeriod() != null
+            ? board.getPeriodTop(descriptor.getPeriod(), descriptor.getPosition())
+            : board.getTop(descriptor.getPosition());
+        if (entry == null) return "N/A";
+        
+        switch (descriptor.getField()) {
+            case NAME:
+                return entry.getName();
+            case TIME:
+                return entry.getTime();
+            default:
+                return entry.getCombined();
         }
-        return "Invalid Format";
     }
     
     // DQ-related helper methods
-    private String getPlayerLastRaceStatus(UUID playerUuid) {
+    private String getPlayerLastRaceStatus(Player player) {
         try {
-            // Get player name from UUID
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player == null) return "Unknown";
-            
             // Get player's recent races (most recent first)
             List<RaceRecord> recentRaces = plugin.getRecordManager().getPlayerRecent(player.getName(), 1);
             if (recentRaces.isEmpty()) {
@@ -676,11 +414,8 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
         }
     }
     
-    private String getPlayerDQCount(UUID playerUuid) {
+    private String getPlayerDQCount(Player player) {
         try {
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player == null) return "0";
-            
             // Get all player races and count DQs
             List<RaceRecord> allRaces = plugin.getRecordManager().getPlayerRecent(player.getName(), Integer.MAX_VALUE);
             int dqCount = 0;
@@ -697,11 +432,8 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
         }
     }
     
-    private String getPlayerCompletionRate(UUID playerUuid) {
+    private String getPlayerCompletionRate(Player player) {
         try {
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player == null) return "0%";
-            
             // Get all player races
             List<RaceRecord> allRaces = plugin.getRecordManager().getPlayerRecent(player.getName(), Integer.MAX_VALUE);
             if (allRaces.isEmpty()) return "0%";
@@ -722,11 +454,8 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
         }
     }
     
-    private String getPlayerLastDQReason(UUID playerUuid) {
+    private String getPlayerLastDQReason(Player player) {
         try {
-            org.bukkit.entity.Player player = org.bukkit.Bukkit.getPlayer(playerUuid);
-            if (player == null) return "N/A";
-            
             // Get recent races and find the most recent DQ
             List<RaceRecord> recentRaces = plugin.getRecordManager().getPlayerRecent(player.getName(), 10);
             
@@ -749,25 +478,8 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
     }
     
     private String getCourseDQRate(String courseName) {
-        try {
-            // Get all records for this course
-            List<RaceRecord> courseRecords = plugin.getRecordManager().getTopTimes(courseName, Integer.MAX_VALUE);
-            if (courseRecords.isEmpty()) return "0%";
-            
-            int totalRaces = courseRecords.size();
-            int dqRaces = 0;
-            
-            for (RaceRecord race : courseRecords) {
-                if (race.getTime() < 0 || race.getPlayer().contains("(DQ)")) {
-                    dqRaces++;
-                }
-            }
-            
-            int dqRate = (int) Math.round((double) dqRaces / totalRaces * 100);
-            return dqRate + "%";
-        } catch (Exception e) {
-            return "0%";
-        }
+        PlaceholderSnapshot.CourseBoard board = getBoard(courseName);
+        return board != null ? board.getDqRate() : "0%";
     }
     
     private String extractDQReason(String playerNameWithDQ) {
@@ -829,28 +541,19 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
     }
     
     // Utility methods for formatting
-    private String formatTime(long timeMs) {
+    String formatTime(long timeMs) {
         if (timeMs <= 0) return "0.00";
         
-        long minutes = timeMs / 60000;
-        long seconds = (timeMs % 60000) / 1000;
-        long milliseconds = timeMs % 1000;
-        
-        if (minutes > 0) {
-            // For times over 1 minute, show MM:SS format (no decimals)
-            return String.format("%d:%02d", minutes, seconds);
-        } else {
-            // For times under 1 minute, show 2 decimal places
-            return String.format("%d.%02d", seconds, milliseconds / 10);
-        }
+        // Under a minute: 2 decimal places, over a minute: M:SS (no decimals)
+        return TimeFormat.format(timeMs, TimeFormat.Precision.SHORT);
     }
     
-    private String formatTime(long timeMs, String courseName) {
+    String formatTime(long timeMs, String courseName) {
         if (timeMs <= 0) return "0.00";
         
         // Get course precision setting
         Course course = plugin.getStorageManager().getCourse(courseName);
-        String precision = course != null ? course.getTimePrecision() : "short";
+        TimeFormat.Precision precision = course != null ? course.getPrecision() : TimeFormat.Precision.SHORT;
         
         // Debug logging
         if (plugin.getConfigManager().isDataDebugEnabled()) {
@@ -858,35 +561,7 @@ public class BOCRacePlaceholderExpansion extends PlaceholderExpansion {
                 ", precision: " + precision + ", timeMs: " + timeMs);
         }
         
-        long minutes = timeMs / 60000;
-        long seconds = (timeMs % 60000) / 1000;
-        long milliseconds = timeMs % 1000;
-        
-        if (minutes > 0) {
-            // For times over 1 minute, format based on precision
-            switch (precision) {
-                case "short":
-                    return String.format("%d:%02d", minutes, seconds);
-                case "medium":
-                    return String.format("%d:%02d.%01d", minutes, seconds, milliseconds / 100);
-                case "long":
-                    return String.format("%d:%02d.%02d", minutes, seconds, milliseconds / 10);
-                default:
-                    return String.format("%d:%02d", minutes, seconds);
-            }
-        } else {
-            // For times under 1 minute, format based on precision
-            switch (precision) {
-                case "short":
-                    return String.format("%d.%02d", seconds, milliseconds / 10);
-                case "medium":
-                    return String.format("%d.%03d", seconds, milliseconds);
-                case "long":
-                    return String.format("%d.%03d", seconds, milliseconds);
-                default:
-                    return String.format("%d.%02d", seconds, milliseconds / 10);
-            }
-        }
+        return TimeFormat.format(timeMs, precision);
     }
     
     private String formatTimeRemaining(long timeMs) {
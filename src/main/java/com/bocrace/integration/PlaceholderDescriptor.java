@@ -0,0 +1,220 @@
+package com.bocrace.integration;
+
+import com.bocrace.model.Period;
+
+import java.util.Arrays;
+
+/**
+ * A placeholder params string parsed once into what it asks for
+ * The expansion caches these per params string so repeat requests skip all string parsing
+ */
+public final class PlaceholderDescriptor {
+
+    public enum Kind {
+        // Player placeholders (need a player context)
+        PLAYER_STATUS, PLAYER_CURRENT_TIME, PLAYER_COURSE, PLAYER_POSITION, PLAYER_RACES_COMPLETED, PLAYER_PB,
+        PLAYER_LAST_RACE_STATUS, PLAYER_DQ_COUNT, PLAYER_COMPLETION_RATE, PLAYER_LAST_DQ_REASON,
+        MP_PLAYERS_JOINED, MP_RACE_STATUS, MP_TIME_REMAINING, MP_LEADER, MP_LEADER_TIME,
+        COURSE_DQ_RATE,
+        // Placeholders that work with or without a player
+        COURSE_STATUS, COURSE_RECORD, COURSE_RECORD_TIME, COURSE_USAGE,
+        LEADERBOARD,
+        TOTAL_COURSES, ACTIVE_RACES, ACTIVE_MP_RACES,
+        // Malformed leaderboard placeholder - always answers with the same text
+        FIXED,
+        UNKNOWN;
+
+        public boolean needsPlayer() {
+            return ordinal() <= COURSE_DQ_RATE.ordinal();
+        }
+    }
+
+    /** Which part of a leaderboard row to return */
+    public enum Field { NAME, TIME, COMBINED }
+
+    static final PlaceholderDescriptor UNKNOWN = new PlaceholderDescriptor(Kind.UNKNOWN, null, null, 0, null, null);
+
+    private final Kind kind;
+    private final String course;
+    private final Period period;
+    private final int position;
+    private final Field field;
+    private final String text;
+
+    private PlaceholderDescriptor(Kind kind, String course, Period period, int position, Field field, String text) {
+        this.kind = kind;
+        this.course = course;
+        this.period = period;
+        this.position = position;
+        this.field = field;
+        this.text = text;
+    }
+
+    public Kind getKind() { return kind; }
+    public String getCourse() { return course; }
+    /** Leaderboard period, or null for the all-time board */
+    public Period getPeriod() { return period; }
+    public int getPosition() { return position; }
+    public Field getField() { return field; }
+    /** Answer for FIXED descriptors */
+    public String getText() { return text; }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case LEADERBOARD:
+                return kind + "[" + course + ", " + (period != null ? period : "ALL") + ", #" + position + ", " + field + "]";
+            case FIXED:
+                return kind + "[" + text + "]";
+            default:
+                return course != null ? kind + "[" + course + "]" : kind.toString();
+        }
+    }
+
+    private static PlaceholderDescriptor of(Kind kind) {
+        return new PlaceholderDescriptor(kind, null, null, 0, null, null);
+    }
+
+    private static PlaceholderDescriptor course(Kind kind, String course) {
+        return new PlaceholderDescriptor(kind, course, null, 0, null, null);
+    }
+
+    private static PlaceholderDescriptor fixed(String text) {
+        return new PlaceholderDescriptor(Kind.FIXED, null, null, 0, null, text);
+    }
+
+    private static PlaceholderDescriptor leaderboard(String course, Period period, int position, Field field) {
+        return new PlaceholderDescriptor(Kind.LEADERBOARD, course, period, position, field, null);
+    }
+
+    /**
+     * Parse a params string (never null - unrecognised params compile to UNKNOWN)
+     */
+    public static PlaceholderDescriptor compile(String params) {
+        switch (params.toLowerCase()) {
+            case "player_status": return of(Kind.PLAYER_STATUS);
+            case "player_current_time": return of(Kind.PLAYER_CURRENT_TIME);
+            case "player_course": return of(Kind.PLAYER_COURSE);
+            case "player_position": return of(Kind.PLAYER_POSITION);
+            case "player_races_completed": return of(Kind.PLAYER_RACES_COMPLETED);
+            case "player_last_race_status": return of(Kind.PLAYER_LAST_RACE_STATUS);
+            case "player_dq_count": return of(Kind.PLAYER_DQ_COUNT);
+            case "player_completion_rate": return of(Kind.PLAYER_COMPLETION_RATE);
+            case "player_last_dq_reason": return of(Kind.PLAYER_LAST_DQ_REASON);
+            case "total_courses": return of(Kind.TOTAL_COURSES);
+            case "active_races": return of(Kind.ACTIVE_RACES);
+            case "active_mp_races": return of(Kind.ACTIVE_MP_RACES);
+        }
+
+        // Personal best placeholders: player_pb_<course>
+        if (params.startsWith("player_pb_")) {
+            return course(Kind.PLAYER_PB, params.substring("player_pb_".length()));
+        }
+
+        // Multiplayer race placeholders
+        if (params.startsWith("mp_")) {
+            switch (params.toLowerCase()) {
+                case "mp_players_joined": return of(Kind.MP_PLAYERS_JOINED);
+                case "mp_race_status": return of(Kind.MP_RACE_STATUS);
+                case "mp_time_remaining": return of(Kind.MP_TIME_REMAINING);
+                case "mp_leader": return of(Kind.MP_LEADER);
+                case "mp_leader_time": return of(Kind.MP_LEADER_TIME);
+                default: return UNKNOWN;
+            }
+        }
+
+        // Course placeholders: course_<name>_status / _record / _record_time / _usage / _dq_rate
+        if (params.startsWith("course_")) {
+            if (params.endsWith("_status")) return course(Kind.COURSE_STATUS, extractCourseName(params, "_status"));
+            if (params.endsWith("_record")) return course(Kind.COURSE_RECORD, extractCourseName(params, "_record"));
+            if (params.endsWith("_record_time")) return course(Kind.COURSE_RECORD_TIME, extractCourseName(params, "_record_time"));
+            if (params.endsWith("_usage")) return course(Kind.COURSE_USAGE, extractCourseName(params, "_usage"));
+            if (params.endsWith("_dq_rate")) return course(Kind.COURSE_DQ_RATE, extractCourseName(params, "_dq_rate"));
+        }
+
+        if (params.startsWith("leaderboard_")) {
+            // Period-based leaderboard placeholders: leaderboard_<course>_<period>[_<name|time>]_<position>
+            if (params.contains("_daily_") || params.contains("_weekly_") || params.contains("_monthly_")) {
+                return compilePeriodLeaderboard(params);
+            }
+            // leaderboard_<course>_<name|time>_<position>
+            if (params.contains("_name_") || params.contains("_time_")) {
+                return compileFieldLeaderboard(params);
+            }
+            // Original format: leaderboard_<course>_<position> (backward compatibility)
+            return compileCombinedLeaderboard(params);
+        }
+
+        return UNKNOWN;
+    }
+
+    private static String extractCourseName(String params, String suffix) {
+        // "course_x" ending with the suffix can still be shorter than prefix + suffix (e.g. "course_usage")
+        int end = params.length() - suffix.length();
+        return end >= "course_".length() ? params.substring("course_".length(), end) : "";
+    }
+
+    private static PlaceholderDescriptor compileFieldLeaderboard(String params) {
+        String[] parts = params.split("_");
+        if (parts.length < 4) return fixed("Invalid Format");
+
+        String courseName = String.join("_", Arrays.copyOfRange(parts, 1, parts.length - 2));
+        try {
+            int pos = Integer.parseInt(parts[parts.length - 1]);
+            return leaderboard(courseName, null, pos, parseField(parts[parts.length - 2]));
+        } catch (NumberFormatException e) {
+            return fixed("Invalid Position");
+        }
+    }
+
+    private static PlaceholderDescriptor compileCombinedLeaderboard(String params) {
+        String[] parts = params.split("_");
+        if (parts.length < 3) return fixed("Invalid Format");
+
+        String courseName = String.join("_", Arrays.copyOfRange(parts, 1, parts.length - 1));
+        try {
+            int pos = Integer.parseInt(parts[parts.length - 1]);
+            return leaderboard(courseName, null, pos, Field.COMBINED);
+        } catch (NumberFormatException e) {
+            return fixed("Invalid Position");
+        }
+    }
+
+    private static PlaceholderDescriptor compilePeriodLeaderboard(String params) {
+        String[] parts = params.split("_");
+        if (parts.length < 4) return fixed("Invalid Format");
+
+        // Format 1: leaderboard_<course>_<period>_<position> (combined name - time)
+        try {
+            Period period = Period.valueOf(parts[parts.length - 2].toUpperCase());
+            int pos = Integer.parseInt(parts[parts.length - 1]);
+            String courseName = String.join("_", Arrays.copyOfRange(parts, 1, parts.length - 2));
+            return leaderboard(courseName, period, pos, Field.COMBINED);
+        } catch (IllegalArgumentException e) {
+            // Not format 1, try format 2
+        }
+
+        // Format 2: leaderboard_<course>_<period>_<name|time>_<position>
+        if (parts.length < 5) return fixed("Invalid Format");
+
+        String courseName = String.join("_", Arrays.copyOfRange(parts, 1, parts.length - 3));
+        int pos;
+        try {
+            pos = Integer.parseInt(parts[parts.length - 1]);
+        } catch (NumberFormatException e) {
+            return fixed("Invalid Position");
+        }
+        try {
+            Period period = Period.valueOf(parts[parts.length - 3].toUpperCase());
+            return leaderboard(courseName, period, pos, parseField(parts[parts.length - 2]));
+        } catch (IllegalArgumentException e) {
+            return fixed("Invalid Period");
+        }
+    }
+
+    private static Field parseField(String type) {
+        if ("name".equals(type)) return Field.NAME;
+        if ("time".equals(type)) return Field.TIME;
+        return null; // Unknown field - the row lookup answers "N/A"
+    }
+}
@@ -0,0 +1,212 @@
+package com.bocrace.integration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counters and latency histograms for the placeholder expansion, split by placeholder family,
+ * plus the slowest params strings seen - shown by /bocrace perf placeholders
+ * Recording is lock-free except when a request is slow enough to enter the slowest list
+ */
+public class PlaceholderMetrics {
+
+    /**
+     * Placeholder families, in the order the perf view lists them
+     */
+    public enum Family {
+        LEADERBOARD, PERIOD, PLAYER, MP, COURSE, OTHER;
+
+        /**
+         * Family a compiled placeholder belongs to
+         */
+        public static Family of(PlaceholderDescriptor descriptor) {
+            switch (descriptor.getKind()) {
+                case LEADERBOARD:
+                    return descriptor.getPeriod() != null ? PERIOD : LEADERBOARD;
+                case PLAYER_STATUS:
+                case PLAYER_CURRENT_TIME:
+                case PLAYER_COURSE:
+                case PLAYER_POSITION:
+                case PLAYER_RACES_COMPLETED:
+                case PLAYER_PB:
+                case PLAYER_LAST_RACE_STATUS:
+                case PLAYER_DQ_COUNT:
+                case PLAYER_COMPLETION_RATE:
+                case PLAYER_LAST_DQ_REASON:
+                    return PLAYER;
+                case MP_PLAYERS_JOINED:
+                case MP_RACE_STATUS:
+                case MP_TIME_REMAINING:
+                case MP_LEADER:
+                case MP_LEADER_TIME:
+                    return MP;
+                case COURSE_DQ_RATE:
+                case COURSE_STATUS:
+                case COURSE_RECORD:
+                case COURSE_RECORD_TIME:
+                case COURSE_USAGE:
+                    return COURSE;
+                default:
+                    return OTHER;
+            }
+        }
+    }
+
+    /** Histogram bucket upper bounds in microseconds - the last bucket is everything slower */
+    private static final long[] BUCKET_BOUNDS_MICROS = {10, 50, 250, 1000, 5000};
+    private static final String[] BUCKET_LABELS = {"<10µs", "<50µs", "<250µs", "<1ms", "<5ms", "5ms+"};
+
+    private static final int SLOW_SAMPLE_SIZE = 10;
+
+    private final FamilyStats[] stats = new FamilyStats[Family.values().length];
+    // Requests answered with the stale marker because the tick was overrunning
+    private final LongAdder shed = new LongAdder();
+
+    // Slowest requests, slowest first (guarded by itself); slowFloor lets fast requests skip the lock
+    private final List<SlowSample> slowest = new ArrayList<>();
+    private volatile long slowFloor = 0;
+
+    public PlaceholderMetrics() {
+        for (Family family : Family.values()) {
+            stats[family.ordinal()] = new FamilyStats();
+        }
+    }
+
+    /**
+     * Record one request
+     * @return true if the request entered the slowest list
+     */
+    public boolean record(PlaceholderDescriptor descriptor, String params, long nanos) {
+        Family family = Family.of(descriptor);
+        stats[family.ordinal()].record(nanos);
+
+        if (nanos <= slowFloor) return false;
+        synchronized (slowest) {
+            // The same params string only holds one slot - keep its worst time
+            for (int i = 0; i < slowest.size(); i++) {
+                SlowSample sample = slowest.get(i);
+                if (sample.params.equals(params)) {
+                    if (nanos <= sample.nanos) return false;
+                    slowest.remove(i);
+                    break;
+                }
+            }
+            slowest.add(new SlowSample(params, family, nanos));
+            slowest.sort(Comparator.comparingLong((SlowSample sample) -> sample.nanos).reversed());
+            if (slowest.size() > SLOW_SAMPLE_SIZE) {
+                slowest.remove(slowest.size() - 1);
+            }
+            slowFloor = slowest.size() == SLOW_SAMPLE_SIZE ? slowest.get(slowest.size() - 1).nanos : 0;
+            return true;
+        }
+    }
+
+    /**
+     * Count a request that was shed (answered stale without a last known value)
+     */
+    public void recordShed() {
+        shed.increment();
+    }
+
+    public long getShed() { return shed.sum(); }
+    public long getRequests(Family family) { return stats[family.ordinal()].requests.sum(); }
+    public long getMaxMicros(Family family) { return stats[family.ordinal()].maxNanos.get() / 1000; }
+
+    public long getAverageMicros(Family family) {
+        FamilyStats familyStats = stats[family.ordinal()];
+        long requests = familyStats.requests.sum();
+        return requests > 0 ? familyStats.totalNanos.sum() / requests / 1000 : 0;
+    }
+
+    /**
+     * Histogram for a family as "label:count" pairs, empty buckets skipped (e.g. "<10µs:812 <50µs:40")
+     */
+    public String getHistogram(Family family) {
+        LongAdder[] buckets = stats[family.ordinal()].buckets;
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < buckets.length; i++) {
+            long count = buckets[i].sum();
+            if (count == 0) continue;
+            if (histogram.length() > 0) histogram.append(' ');
+            histogram.append(BUCKET_LABELS[i]).append(':').append(count);
+        }
+        return histogram.toString();
+    }
+
+    /**
+     * Slowest requests seen since the last reset, slowest first
+     */
+    public List<SlowSample> getSlowest() {
+        synchronized (slowest) {
+            return new ArrayList<>(slowest);
+        }
+    }
+
+    public void reset() {
+        for (FamilyStats familyStats : stats) {
+            familyStats.reset();
+        }
+        shed.reset();
+        synchronized (slowest) {
+            slowest.clear();
+            slowFloor = 0;
+        }
+    }
+
+    /**
+     * One slow request
+     */
+    public static final class SlowSample {
+        private final String params;
+        private final Family family;
+        private final long nanos;
+
+        SlowSample(String params, Family family, long nanos) {
+            this.params = params;
+            this.family = family;
+            this.nanos = nanos;
+        }
+
+        public String getParams() { return params; }
+        public Family getFamily() { return family; }
+        public long getMicros() { return nanos / 1000; }
+    }
+
+    private static final class FamilyStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_LABELS.length];
+
+        FamilyStats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            requests.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+
+            long micros = nanos / 1000;
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros >= BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        void reset() {
+            requests.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+}
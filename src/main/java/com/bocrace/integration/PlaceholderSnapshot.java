@@ -0,0 +1,108 @@
+package com.bocrace.integration;
+
+import com.bocrace.model.Period;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, precomputed leaderboard placeholder values for every course
+ * Built off the main thread by PlaceholderSnapshotTask and published as a whole
+ */
+public final class PlaceholderSnapshot {
+
+    public static final PlaceholderSnapshot EMPTY = new PlaceholderSnapshot(Collections.emptyMap());
+
+    private final Map<String, CourseBoard> courses;
+
+    private PlaceholderSnapshot(Map<String, CourseBoard> courses) {
+        this.courses = courses;
+    }
+
+    /**
+     * Precomputed values for a course, or null if the course isn't in the snapshot
+     */
+    public CourseBoard getCourse(String courseName) {
+        return courses.get(courseName);
+    }
+
+    public int getCourseCount() {
+        return courses.size();
+    }
+
+    /**
+     * Copy of this snapshot with some courses replaced and any course not in keep dropped
+     */
+    PlaceholderSnapshot with(Map<String, CourseBoard> updated, Set<String> keep) {
+        Map<String, CourseBoard> next = new HashMap<>();
+        for (Map.Entry<String, CourseBoard> entry : courses.entrySet()) {
+            if (keep.contains(entry.getKey())) {
+                next.put(entry.getKey(), entry.getValue());
+            }
+        }
+        next.putAll(updated);
+        return new PlaceholderSnapshot(Collections.unmodifiableMap(next));
+    }
+
+    /**
+     * One course's record, leaderboards and DQ rate
+     */
+    public static final class CourseBoard {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private final String recordName;
+        private final String recordTime;
+        private final String dqRate;
+        private final Entry[] top;
+        private final Map<Period, Entry[]> periodTop;
+
+        CourseBoard(String recordName, String recordTime, String dqRate, Entry[] top, EnumMap<Period, Entry[]> periodTop) {
+            this.recordName = recordName;
+            this.recordTime = recordTime;
+            this.dqRate = dqRate;
+            this.top = top;
+            this.periodTop = periodTop;
+        }
+
+        public String getRecordName() { return recordName; }
+        public String getRecordTime() { return recordTime; }
+        public String getDqRate() { return dqRate; }
+
+        /**
+         * All-time leaderboard entry at a 1-based position, or null
+         */
+        public Entry getTop(int position) {
+            return position > 0 && position <= top.length ? top[position - 1] : null;
+        }
+
+        /**
+         * Period leaderboard entry at a 1-based position, or null
+         */
+        public Entry getPeriodTop(Period period, int position) {
+            Entry[] entries = periodTop.getOrDefault(period, NO_ENTRIES);
+            return position > 0 && position <= entries.length ? entries[position - 1] : null;
+        }
+    }
+
+    /**
+     * One leaderboard row, already formatted for the course's time precision
+     */
+    public static final class Entry {
+        private final String name;
+        private final String time;
+        private final String combined;
+
+        Entry(String name, String time) {
+            this.name = name;
+            this.time = time;
+            this.combined = name + " - " + time;
+        }
+
+        public String getName() { return name; }
+        public String getTime() { return time; }
+        public String getCombined() { return combined; }
+    }
+}
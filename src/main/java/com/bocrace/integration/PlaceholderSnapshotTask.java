@@ -0,0 +1,148 @@
+package com.bocrace.integration;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.model.Course;
+import com.bocrace.model.Period;
+import com.bocrace.model.RaceRecord;
+import com.bocrace.util.TickLoadMonitor;
+import com.bocrace.util.TimeFormat;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Background task that keeps the leaderboard placeholder snapshot up to date
+ * Each pass polls the record data version of every course and rebuilds only the courses that changed,
+ * so placeholder requests never touch the record files
+ */
+public class PlaceholderSnapshotTask {
+
+    static final int LEADERBOARD_SIZE = 10;
+
+    private final BOCRacePlugin plugin;
+    private final BOCRacePlaceholderExpansion expansion;
+
+    private volatile PlaceholderSnapshot snapshot = PlaceholderSnapshot.EMPTY;
+
+    // Course name -> record data version and time precision the current board was built with (async thread only)
+    private final Map<String, Long> builtVersions = new HashMap<>();
+    private final Map<String, TimeFormat.Precision> builtPrecisions = new HashMap<>();
+
+    private BukkitTask task;
+
+    public PlaceholderSnapshotTask(BOCRacePlugin plugin, BOCRacePlaceholderExpansion expansion) {
+        this.plugin = plugin;
+        this.expansion = expansion;
+    }
+
+    /**
+     * Start refreshing at placeholders.refresh-ticks
+     */
+    public void start() {
+        stop();
+        long interval = plugin.getConfigManager().getSettings().getPlaceholderRefreshTicks();
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        }.runTaskTimerAsynchronously(plugin, 1L, interval);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Current snapshot (never null)
+     */
+    public PlaceholderSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private synchronized void refresh() {
+        // Keep serving the current snapshot while the tick is overrunning - rebuilds resume on recovery
+        TickLoadMonitor tickMonitor = plugin.getTickLoadMonitor();
+        if (tickMonitor != null && tickMonitor.isOverloaded()) {
+            return;
+        }
+
+        List<Course> courses = plugin.getStorageManager().getAllCourses();
+        Set<String> keep = new HashSet<>();
+        Map<String, PlaceholderSnapshot.CourseBoard> updated = new HashMap<>();
+        ToLongFunction<String> versions = plugin.getRecordManager()::getCourseDataVersion;
+
+        for (Course course : courses) {
+            String name = course.getName();
+            keep.add(name);
+
+            // A board is stale when its records changed or the course's time precision was edited
+            long version = versions.applyAsLong(name);
+            Long built = builtVersions.get(name);
+            if (built != null && built == version && builtPrecisions.get(name) == course.getPrecision()) continue;
+
+            try {
+                updated.put(name, buildBoard(name));
+                builtVersions.put(name, version);
+                builtPrecisions.put(name, course.getPrecision());
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to rebuild placeholders for course " + name + ": " + e.getMessage());
+            }
+        }
+
+        builtVersions.keySet().retainAll(keep);
+        builtPrecisions.keySet().retainAll(keep);
+        if (updated.isEmpty() && keep.size() == snapshot.getCourseCount()) return;
+
+        snapshot = snapshot.with(updated, keep);
+        if (!updated.isEmpty()) {
+            plugin.debugDataLog("Placeholder snapshot rebuilt for " + updated.size() + " course(s)");
+        }
+    }
+
+    private PlaceholderSnapshot.CourseBoard buildBoard(String courseName) {
+        List<RaceRecord> all = plugin.getRecordManager().getTopTimes(courseName, Integer.MAX_VALUE);
+
+        String recordName = all.isEmpty() ? "No Record" : all.get(0).getPlayer();
+        String recordTime = all.isEmpty() ? "No Record" : expansion.formatTime((long) (all.get(0).getTime() * 1000));
+
+        int dqRaces = 0;
+        for (RaceRecord race : all) {
+            if (race.getTime() < 0 || race.getPlayer().contains("(DQ)")) {
+                dqRaces++;
+            }
+        }
+        String dqRate = all.isEmpty() ? "0%" : Math.round((double) dqRaces / all.size() * 100) + "%";
+
+        PlaceholderSnapshot.Entry[] top = toEntries(all, courseName);
+
+        EnumMap<Period, PlaceholderSnapshot.Entry[]> periodTop = new EnumMap<>(Period.class);
+        for (Period period : Period.values()) {
+            List<RaceRecord> records = plugin.getRecordManager().getTopTimesForPeriod(courseName, period, LEADERBOARD_SIZE);
+            periodTop.put(period, toEntries(records, courseName));
+        }
+
+        return new PlaceholderSnapshot.CourseBoard(recordName, recordTime, dqRate, top, periodTop);
+    }
+
+    private PlaceholderSnapshot.Entry[] toEntries(List<RaceRecord> records, String courseName) {
+        int size = Math.min(records.size(), LEADERBOARD_SIZE);
+        PlaceholderSnapshot.Entry[] entries = new PlaceholderSnapshot.Entry[size];
+        for (int i = 0; i < size; i++) {
+            RaceRecord record = records.get(i);
+            entries[i] = new PlaceholderSnapshot.Entry(record.getPlayer(),
+                    expansion.formatTime((long) (record.getTime() * 1000), courseName));
+        }
+        return entries;
+    }
+}
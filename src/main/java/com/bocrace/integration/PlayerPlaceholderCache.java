@@ -0,0 +1,102 @@
+package com.bocrace.integration;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-player cache of record-backed placeholder values (PBs, race counts, DQ stats)
+ * Values only change when the player's records do, so entries are dropped on race start/end,
+ * when a record is saved for the player, and when the player quits
+ */
+public class PlayerPlaceholderCache {
+
+    // Player UUID -> placeholder key -> value (the inner map is swapped out, never cleared, on invalidation)
+    private final Map<UUID, Map<String, String>> values = new ConcurrentHashMap<>();
+    // Player name -> UUID, so record saves (which only know the name) can find the entry
+    private final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
+    // Last value loaded per player and key - survives invalidation, served while the tick is overrunning
+    private final Map<UUID, Map<String, String>> lastKnown = new ConcurrentHashMap<>();
+
+    /**
+     * Cached value for a player, loading (and caching) it on a miss
+     * "Error" answers aren't cached so a transient failure doesn't stick
+     */
+    public String get(Player player, String key, Supplier<String> loader) {
+        UUID uuid = player.getUniqueId();
+        Map<String, String> playerValues = values.computeIfAbsent(uuid, id -> {
+            uuidsByName.put(player.getName(), id);
+            return new ConcurrentHashMap<>();
+        });
+
+        String value = playerValues.get(key);
+        if (value == null) {
+            value = loader.get();
+            // An invalidation during the load orphans playerValues, so a stale value never lands in the cache
+            if (value != null && !"Error".equals(value)) {
+                playerValues.put(key, value);
+                lastKnown.computeIfAbsent(uuid, id -> new ConcurrentHashMap<>()).put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Cached value if there is one, otherwise the last value loaded before an invalidation (null if never loaded)
+     * Never loads - used to shed record reads while the server is overloaded
+     */
+    public String getLastKnown(Player player, String key) {
+        UUID uuid = player.getUniqueId();
+        Map<String, String> playerValues = values.get(uuid);
+        String value = playerValues != null ? playerValues.get(key) : null;
+        if (value != null) {
+            return value;
+        }
+        Map<String, String> lastValues = lastKnown.get(uuid);
+        return lastValues != null ? lastValues.get(key) : null;
+    }
+
+    /**
+     * Drop a player's cached values (race lifecycle events)
+     */
+    public void invalidate(UUID playerUuid) {
+        values.remove(playerUuid);
+    }
+
+    /**
+     * Drop cached values for the player a record was saved under (DQ records carry a " (DQ - reason)" suffix)
+     */
+    public void invalidate(String recordPlayerName) {
+        if (recordPlayerName == null) return;
+        int dqIndex = recordPlayerName.indexOf(" (DQ");
+        String name = dqIndex >= 0 ? recordPlayerName.substring(0, dqIndex) : recordPlayerName;
+
+        UUID uuid = uuidsByName.get(name);
+        if (uuid != null) {
+            values.remove(uuid);
+        }
+    }
+
+    /**
+     * Drop everything (bulk record resets)
+     */
+    public void invalidateAll() {
+        values.clear();
+    }
+
+    /**
+     * Forget a player entirely (quit)
+     */
+    public void evict(Player player) {
+        values.remove(player.getUniqueId());
+        lastKnown.remove(player.getUniqueId());
+        uuidsByName.remove(player.getName());
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
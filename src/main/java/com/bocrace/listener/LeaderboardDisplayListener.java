@@ -0,0 +1,26 @@
+package com.bocrace.listener;
+
+import com.bocrace.BOCRacePlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+/**
+ * Respawns leaderboard displays (non-persistent entities) when their chunk loads
+ */
+public class LeaderboardDisplayListener implements Listener {
+    
+    private final BOCRacePlugin plugin;
+    
+    public LeaderboardDisplayListener(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (plugin.getLeaderboardDisplayManager() != null) {
+            plugin.getLeaderboardDisplayManager().onChunkLoad(event.getChunk());
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.bocrace.listener;
 
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
-import com.bocrace.model.CourseType;
 import com.bocrace.race.MultiplayerRace;
 import com.bocrace.race.MultiplayerRaceManager;
+import com.bocrace.storage.ButtonIndex;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -53,7 +53,6 @@ public class MultiplayerButtonListener implements Listener {
         }
         
         Player player = event.getPlayer();
-        Location blockLocation = clickedBlock.getLocation();
         
         // DEBUG: Log all button clicks for troubleshooting
         plugin.multiplayerDebugLog("Button clicked - Player: " + player.getName() + 
@@ -61,8 +60,9 @@ public class MultiplayerButtonListener implements Listener {
                                   " at " + clickedBlock.getWorld().getName() + " " + 
                                   clickedBlock.getX() + "," + clickedBlock.getY() + "," + clickedBlock.getZ());
         
-        // Find multiplayer course by button location (like singleplayer does)
-        Course course = findMultiplayerCourseByButton(clickedBlock);
+        // Find multiplayer course and button role by button location
+        ButtonIndex.Entry button = findMultiplayerButton(clickedBlock);
+        Course course = button != null ? plugin.getStorageManager().getCourse(button.getCourseName()) : null;
         if (course == null) {
             plugin.multiplayerDebugLog("Button click ignored - not a multiplayer race button");
             return;
@@ -71,7 +71,7 @@ public class MultiplayerButtonListener implements Listener {
         plugin.multiplayerDebugLog("Multiplayer button found for course: " + course.getName());
         
         // Determine button type and handle accordingly
-        ButtonType buttonType = getButtonType(course, blockLocation);
+        ButtonType buttonType = getButtonType(button.getRole());
         if (buttonType == null) {
             return;
         }
@@ -176,7 +176,7 @@ public class MultiplayerButtonListener implements Listener {
         
         // Check if race is full
         if (!race.canJoin()) {
-            int maxPlayers = plugin.getConfig().getInt("multiplayer.max-join-players", 9);
+            int maxPlayers = plugin.getConfigManager().getSettings().getMaxJoinPlayers();
             player.sendMessage("§c§l❌ Race is full! (" + maxPlayers + " players maximum)");
             return;
         }
@@ -233,8 +233,7 @@ public class MultiplayerButtonListener implements Listener {
             return;
         }
         
-        // Success - race manager handles player teleportation and announcements
-        player.sendMessage("§a§l🚀 RACE STARTED! §a§lCross the start line to begin timing!");
+        // Success - race manager seats everyone, runs the countdown and sends announcements
     }
     
     /**
@@ -301,11 +300,12 @@ public class MultiplayerButtonListener implements Listener {
         }
         
         // Teleport player
-        player.teleport(lobbySpawn);
-        player.sendMessage("§a§l🏠 Returned to race lobby!");
-        
-        // Play teleport sound
-        plugin.getSoundEffectManager().playSetupEnterEffects(player, player.getLocation());
+        plugin.getTeleportUtil().teleportAsync(player, lobbySpawn, success -> {
+            player.sendMessage("§a§l🏠 Returned to race lobby!");
+            
+            // Play teleport sound
+            plugin.getSoundEffectManager().playSetupEnterEffects(player, player.getLocation());
+        });
     }
     
     /**
@@ -352,83 +352,34 @@ public class MultiplayerButtonListener implements Listener {
     }
     
     /**
-     * Find multiplayer course by button location (like singleplayer does)
-     */
-    private Course findMultiplayerCourseByButton(Block block) {
-        plugin.multiplayerDebugLog("🔍 Looking for multiplayer course with button at: " + formatLocation(block.getLocation()));
-        
-        for (Course course : plugin.getStorageManager().getCoursesByType(CourseType.MULTIPLAYER)) {
-            plugin.multiplayerDebugLog("🔍 Checking multiplayer course: " + course.getName());
-            
-            // Check each multiplayer button type
-            if (isSameBlock(course.getMpcreateRaceButton(), block.getLocation())) {
-                plugin.multiplayerDebugLog("✅ CREATE RACE BUTTON MATCH - Course: " + course.getName());
-                return course;
-            }
-            if (isSameBlock(course.getMpjoinRaceButton(), block.getLocation())) {
-                plugin.multiplayerDebugLog("✅ JOIN RACE BUTTON MATCH - Course: " + course.getName());
-                return course;
-            }
-            if (isSameBlock(course.getMpstartRaceButton(), block.getLocation())) {
-                plugin.multiplayerDebugLog("✅ START RACE BUTTON MATCH - Course: " + course.getName());
-                return course;
-            }
-            if (isSameBlock(course.getMpcancelRaceButton(), block.getLocation())) {
-                plugin.multiplayerDebugLog("✅ CANCEL RACE BUTTON MATCH - Course: " + course.getName());
-                return course;
-            }
-            if (isSameBlock(course.getMpreturnButton(), block.getLocation())) {
-                plugin.multiplayerDebugLog("✅ RETURN BUTTON MATCH - Course: " + course.getName());
-                return course;
-            }
-        }
-        
-        plugin.multiplayerDebugLog("❌ NO MULTIPLAYER COURSE FOUND for button");
-        return null;
-    }
-    
-    /**
-     * Get button type for the clicked location
+     * Find the multiplayer button at a block with a single index probe
      */
-    private ButtonType getButtonType(Course course, Location location) {
-        if (isSameBlock(course.getMpcreateRaceButton(), location)) {
-            return ButtonType.CREATE_RACE;
-        }
-        if (isSameBlock(course.getMpjoinRaceButton(), location)) {
-            return ButtonType.JOIN_RACE;
-        }
-        if (isSameBlock(course.getMpstartRaceButton(), location)) {
-            return ButtonType.START_RACE;
-        }
-        if (isSameBlock(course.getMpcancelRaceButton(), location)) {
-            return ButtonType.CANCEL_RACE;
+    private ButtonIndex.Entry findMultiplayerButton(Block block) {
+        ButtonIndex.Entry entry = plugin.getStorageManager().getButtonIndex().findMultiplayer(block);
+        if (entry != null) {
+            plugin.multiplayerDebugLog("✅ " + entry.getRole() + " BUTTON MATCH - Course: " + entry.getCourseName());
         }
-        if (isSameBlock(course.getMpreturnButton(), location)) {
-            return ButtonType.RETURN_LOBBY;
-        }
-        return null;
+        return entry;
     }
     
     /**
-     * Check if two locations are the same block (like singleplayer does)
+     * Get button type for an indexed button role
      */
-    private boolean isSameBlock(Location loc1, Location loc2) {
-        if (loc1 == null || loc2 == null) {
-            return false;
+    private ButtonType getButtonType(ButtonIndex.Role role) {
+        switch (role) {
+            case MP_CREATE:
+                return ButtonType.CREATE_RACE;
+            case MP_JOIN:
+                return ButtonType.JOIN_RACE;
+            case MP_START:
+                return ButtonType.START_RACE;
+            case MP_CANCEL:
+                return ButtonType.CANCEL_RACE;
+            case MP_RETURN:
+                return ButtonType.RETURN_LOBBY;
+            default:
+                return null;
         }
-        
-        return loc1.getWorld().equals(loc2.getWorld()) &&
-               loc1.getBlockX() == loc2.getBlockX() &&
-               Math.abs(loc1.getBlockY() - loc2.getBlockY()) <= 1 && // Button face tolerance (COPIED FROM SINGLEPLAYER)
-               loc1.getBlockZ() == loc2.getBlockZ();
-    }
-    
-    /**
-     * Format location for debug (like singleplayer does)
-     */
-    private String formatLocation(Location loc) {
-        if (loc == null) return "null";
-        return loc.getWorld().getName() + " " + loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ();
     }
     
     /**
@@ -6,13 +6,19 @@ import com.bocrace.race.ActiveRace;
 import com.bocrace.race.MultiplayerRace;
 import com.bocrace.util.BoatManager;
 import com.bocrace.util.TeleportUtil;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import org.bukkit.Location;
 import org.bukkit.entity.Boat;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.vehicle.VehicleDestroyEvent;
 import org.bukkit.event.vehicle.VehicleExitEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 
 import java.util.UUID;
 
@@ -36,6 +42,9 @@ public class RaceCleanupListener implements Listener {
         Player player = event.getPlayer();
         UUID playerUuid = player.getUniqueId();
         
+        // Drop cached placeholder values for the player
+        plugin.getPlayerPlaceholderCache().evict(player);
+        
         // Check if player has an active singleplayer race
         ActiveRace race = plugin.getRaceManager().getActiveRace(playerUuid);
         if (race != null) {
@@ -102,6 +111,48 @@ public class RaceCleanupListener implements Listener {
         plugin.debugLog("Multiplayer race cleanup completed for disconnected player: " + player.getName());
     }
     
+    /**
+     * Keep the race boat registry in sync when a boat is destroyed
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBoatDestroyed(VehicleDestroyEvent event) {
+        if (event.getVehicle() instanceof Boat) {
+            boatManager.unregisterRaceBoat(event.getVehicle());
+        }
+    }
+    
+    /**
+     * Keep the race boat registry in sync when a boat is removed from its world
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBoatRemovedFromWorld(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Boat) {
+            boatManager.unregisterRaceBoat(event.getEntity());
+        }
+    }
+    
+    /**
+     * Keep the race boat registry in sync when a chunk holding race boats unloads
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Boat) {
+                boatManager.unregisterRaceBoat(entity);
+            }
+        }
+    }
+    
+    /**
+     * Check race boats in freshly loaded chunks against the live races
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        if (plugin.getRaceBoatReaper() != null) {
+            plugin.getRaceBoatReaper().checkLoadedEntities(event.getEntities());
+        }
+    }
+    
     @EventHandler
     public void onBoatExit(VehicleExitEvent event) {
         // Only handle boats
@@ -184,11 +235,11 @@ public class RaceCleanupListener implements Listener {
             }
         } else {
             // Course not found, use pre-race location or world spawn
-            Location safeLocation = race.getPreRaceLocation();
-            if (safeLocation == null || !TeleportUtil.isSafeLocation(safeLocation)) {
+            Location safeLocation = race.getSafePreRaceLocation();
+            if (safeLocation == null) {
                 safeLocation = player.getWorld().getSpawnLocation();
             }
-            player.teleport(safeLocation);
+            teleportUtil.teleportAsync(player, safeLocation, null);
             player.sendMessage("§c§l❌ DISQUALIFIED! §cRace ended - returned to safe location.");
         }
         
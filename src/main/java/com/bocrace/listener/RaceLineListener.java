@@ -4,14 +4,14 @@ import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
 import com.bocrace.model.CourseType;
 import com.bocrace.race.ActiveRace;
+import com.bocrace.race.CheckpointProgress;
 import com.bocrace.race.MultiplayerRace;
 import com.bocrace.util.BoatManager;
 import com.bocrace.util.LineDetection;
 import com.bocrace.util.TeleportUtil;
 import com.bocrace.util.SoundEffectManager;
+import com.bocrace.util.TriggerVolume;
 import com.bocrace.model.RaceRecord;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Boat;
@@ -20,8 +20,11 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.scheduler.BukkitRunnable;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles start/finish line detection and race timing
@@ -33,6 +36,12 @@ public class RaceLineListener implements Listener {
     private final TeleportUtil teleportUtil;
     private final SoundEffectManager soundEffectManager;
     
+    // Cap on how long a boat can be skipped, in case it is teleported rather than driven
+    private static final int MAX_SKIP_TICKS = 100;
+    
+    // Boat UUID -> earliest tick the boat could possibly reach a trigger volume
+    private final Map<UUID, MoveGate> moveGates = new ConcurrentHashMap<>();
+    
     public RaceLineListener(BOCRacePlugin plugin, BoatManager boatManager, TeleportUtil teleportUtil) {
         this.plugin = plugin;
         this.boatManager = boatManager;
@@ -40,12 +49,27 @@ public class RaceLineListener implements Listener {
         this.soundEffectManager = plugin.getSoundEffectManager();
     }
     
-    @EventHandler
+    /**
+     * VehicleMoveEvent handler - registered by BOCRacePlugin only in "event" detection mode
+     */
     public void onBoatMove(VehicleMoveEvent event) {
         // Only handle boats
         if (!(event.getVehicle() instanceof Boat)) return;
         
-        Boat boat = (Boat) event.getVehicle();
+        processBoatMove((Boat) event.getVehicle(), event.getFrom(), event.getTo());
+    }
+    
+    /**
+     * Run start/checkpoint/finish detection for one boat movement
+     * Shared by the VehicleMoveEvent handler and the tick-batched RaceBoatSweepTask
+     */
+    public void processBoatMove(Boat boat, Location from, Location to) {
+        // Fast path: boat is too far from any trigger to reach one yet
+        MoveGate gate = moveGates.get(boat.getUniqueId());
+        if (gate != null && Bukkit.getCurrentTick() < gate.nextCheckTick
+                && gate.volumeVersion == plugin.getStorageManager().getVolumeVersion()) {
+            return;
+        }
         
         // Only handle race boats
         if (!boatManager.isRaceBoat(boat)) return;
@@ -57,9 +81,6 @@ public class RaceLineListener implements Listener {
             return;
         }
         
-        Location from = event.getFrom();
-        Location to = event.getTo();
-        
         // Check for singleplayer race first
         ActiveRace race = plugin.getRaceManager().getActiveRace(playerUuid);
         if (race != null) {
@@ -79,8 +100,16 @@ public class RaceLineListener implements Listener {
             if (race.getState() == ActiveRace.State.ARMED) {
                 handleStartLineDetection(boat, race, course, from, to);
             } else if (race.getState() == ActiveRace.State.RUNNING) {
-                handleFinishLineDetection(boat, race, course, from, to);
-                updateRaceTimer(boat, race);
+                TriggerVolume[] checkpoints = plugin.getStorageManager().getCheckpointVolumes(course.getName());
+                if (checkpoints.length > 0 && passedNextCheckpoint(race.getCheckpointProgress(), checkpoints, from, to)) {
+                    handleCheckpointReached(getPlayerFromBoat(boat), course, race.getCheckpointProgress(),
+                            checkpoints.length, race.getCurrentDurationMs(), to);
+                }
+                handleFinishLineDetection(boat, race, course, from, to, checkpoints);
+            }
+            
+            if (race.getState() == ActiveRace.State.ARMED || race.getState() == ActiveRace.State.RUNNING) {
+                updateMoveGate(boat, course, to);
             }
             return;
         }
@@ -109,8 +138,10 @@ public class RaceLineListener implements Listener {
             // Handle multiplayer race states
             if (mpRace.getState() == MultiplayerRace.State.RUNNING) {
                 handleMultiplayerStartLineDetection(boat, mpRace, course, player, from, to);
-                handleMultiplayerFinishLineDetection(boat, mpRace, course, player, from, to);
-                updateMultiplayerRaceTimer(boat, mpRace, player);
+                TriggerVolume[] checkpoints = plugin.getStorageManager().getCheckpointVolumes(course.getName());
+                handleMultiplayerCheckpointDetection(mpRace, course, player, from, to, checkpoints);
+                handleMultiplayerFinishLineDetection(boat, mpRace, course, player, from, to, checkpoints);
+                updateMoveGate(boat, course, to);
             }
             return;
         }
@@ -118,6 +149,35 @@ public class RaceLineListener implements Listener {
         plugin.raceDebugLog("Race boat move - no active race found for player " + playerUuid);
     }
     
+    /**
+     * Drop the move gate when a boat leaves the world (removed, destroyed or unloaded)
+     */
+    @EventHandler
+    public void onBoatRemoved(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Boat) {
+            moveGates.remove(event.getEntity().getUniqueId());
+        }
+    }
+    
+    /**
+     * Compute the earliest tick this boat could reach any trigger volume of the course
+     * A boat can't cover more than max-boat-blocks-per-tick, so moves before then can be skipped
+     */
+    private void updateMoveGate(Boat boat, Course course, Location to) {
+        TriggerVolume[] volumes = plugin.getStorageManager().getCourseVolumes(course.getName());
+        double distance = TriggerVolume.nearestDistance(volumes, to);
+        double maxBlocksPerTick = plugin.getConfigManager().getSettings().getMaxBoatBlocksPerTick();
+        
+        int skipTicks = 0;
+        if (maxBlocksPerTick > 0) {
+            skipTicks = (int) Math.min(MAX_SKIP_TICKS, Math.floor(distance / maxBlocksPerTick));
+        }
+        
+        MoveGate gate = moveGates.computeIfAbsent(boat.getUniqueId(), id -> new MoveGate());
+        gate.nextCheckTick = Bukkit.getCurrentTick() + skipTicks;
+        gate.volumeVersion = plugin.getStorageManager().getVolumeVersion();
+    }
+    
     /**
      * Handle start line detection (thin plane)
      */
@@ -167,7 +227,7 @@ public class RaceLineListener implements Listener {
     /**
      * Handle finish line detection (proper crossing detection)
      */
-    private void handleFinishLineDetection(Boat boat, ActiveRace race, Course course, Location from, Location to) {
+    private void handleFinishLineDetection(Boat boat, ActiveRace race, Course course, Location from, Location to, TriggerVolume[] checkpoints) {
         if (course.getSpfinish1() == null || course.getSpfinish2() == null) {
             plugin.raceDebugLog("Finish line detection skipped - finish line not configured");
             return;
@@ -185,6 +245,11 @@ public class RaceLineListener implements Listener {
         
         plugin.raceDebugLog("Finish line hybrid detection result: " + shouldTrigger);
         
+        if (shouldTrigger && !race.getCheckpointProgress().hasPassedAll(checkpoints.length)) {
+            warnMissedCheckpoint(getPlayerFromBoat(boat), race.getCheckpointProgress(), checkpoints.length);
+            return;
+        }
+        
         if (shouldTrigger) {
             plugin.raceDebugLog("🏆 FINISH LINE CROSSED! - Player: " + race.getPlayerName() + 
                                ", Course: " + course.getName() + 
@@ -196,24 +261,6 @@ public class RaceLineListener implements Listener {
         }
     }
     
-    /**
-     * Update the race timer display
-     */
-    private void updateRaceTimer(Boat boat, ActiveRace race) {
-        Player player = getPlayerFromBoat(boat);
-        if (player == null) return;
-        
-        // Always use ActionBar for smooth live stopwatch display
-        String timerText = race.getFormattedCurrentTime();
-        player.sendActionBar(Component.text(timerText, NamedTextColor.AQUA));
-        
-        // Debug every 1 second (1000ms) to avoid spam
-        long currentTime = System.currentTimeMillis();
-        if (currentTime % 1000 < 50) { // Log roughly every second
-            plugin.raceDebugLog("⏱️ Timer update - " + timerText + " for " + race.getPlayerName() + " (mode: actionbar)");
-        }
-    }
-    
     /**
      * Complete a race
      */
@@ -238,15 +285,16 @@ public class RaceLineListener implements Listener {
             plugin.raceDebugLog("🎆 Firework particles spawned");
             
             // Send completion message
-            String finishMessage = plugin.getConfig().getString("messages.race-finish", "§a🏁 You finished in: {time}!");
+            String finishMessage = plugin.getConfigManager().getSettings().getMessage("race-finish", "§a🏁 You finished in: {time}!");
             finishMessage = finishMessage.replace("{time}", finalTimeFormatted.replace("Race Time: ", ""));
             player.sendMessage(finishMessage);
+            sendSplitSummary(player, race.getCheckpointProgress());
             
             // Check if it's a personal best
             try {
                 RaceRecord bestRecord = plugin.getRecordManager().getPlayerBestTime(race.getPlayerName(), race.getCourseName());
                 if (bestRecord == null || finalTimeMs < (bestRecord.getTime() * 1000)) { // Convert seconds to ms for comparison
-                    String pbMessage = plugin.getConfig().getString("messages.personal-best", "§a§l⭐ NEW PERSONAL BEST! §a§l⭐");
+                    String pbMessage = plugin.getConfigManager().getSettings().getMessage("personal-best", "§a§l⭐ NEW PERSONAL BEST! §a§l⭐");
                     player.sendMessage(pbMessage);
                     soundEffectManager.playPersonalBestEffects(player, player.getLocation());
                     plugin.raceDebugLog("🌟 NEW PERSONAL BEST! - Player: " + race.getPlayerName() + ", Time: " + finalTimeMs + "ms");
@@ -338,7 +386,7 @@ public class RaceLineListener implements Listener {
     /**
      * Handle multiplayer finish line detection
      */
-    private void handleMultiplayerFinishLineDetection(Boat boat, MultiplayerRace race, Course course, Player player, Location from, Location to) {
+    private void handleMultiplayerFinishLineDetection(Boat boat, MultiplayerRace race, Course course, Player player, Location from, Location to, TriggerVolume[] checkpoints) {
         // Check if player has finished already
         MultiplayerRace.PlayerResult result = race.getPlayers().get(player.getUniqueId());
         if (result == null || result.isFinished() || result.isDisqualified()) {
@@ -347,8 +395,14 @@ public class RaceLineListener implements Listener {
         
         // Check if should trigger finish (hybrid detection)
         boolean shouldTrigger = LineDetection.shouldTriggerFinish(from, to, course.getSpfinish1(), course.getSpfinish2());
+        if (shouldTrigger && !result.getCheckpointProgress().hasPassedAll(checkpoints.length)) {
+            warnMissedCheckpoint(player, result.getCheckpointProgress(), checkpoints.length);
+            return;
+        }
+        
         if (shouldTrigger) {
             plugin.raceDebugLog("🏆 Multiplayer finish line crossed by " + player.getName());
+            sendSplitSummary(player, result.getCheckpointProgress());
             
             // Finish the player through race manager
             plugin.getMultiplayerRaceManager().finishPlayer(player.getUniqueId());
@@ -356,33 +410,67 @@ public class RaceLineListener implements Listener {
     }
     
     /**
-     * Update multiplayer race timer display
+     * Handle multiplayer checkpoint detection (only once the player's timer is running)
      */
-    private void updateMultiplayerRaceTimer(Boat boat, MultiplayerRace race, Player player) {
-        // Check if player's timer has started
+    private void handleMultiplayerCheckpointDetection(MultiplayerRace race, Course course, Player player, Location from, Location to, TriggerVolume[] checkpoints) {
+        if (checkpoints.length == 0) return;
+        
         MultiplayerRace.PlayerResult result = race.getPlayers().get(player.getUniqueId());
-        if (result == null || !result.isTimerStarted()) {
-            return; // Don't show timer until player crosses start line
+        if (result == null || !result.isTimerStarted() || result.isFinished() || result.isDisqualified()) {
+            return;
         }
         
-        // Get player's current race time
-        long raceTimeMs = System.currentTimeMillis() - race.getRaceStartTimeMs();
+        if (passedNextCheckpoint(result.getCheckpointProgress(), checkpoints, from, to)) {
+            long raceTimeMs = System.currentTimeMillis() - race.getRaceStartTimeMs();
+            handleCheckpointReached(player, course, result.getCheckpointProgress(), checkpoints.length, raceTimeMs, to);
+        }
+    }
+    
+    /**
+     * Test only the racer's next expected checkpoint (no allocation once prepared)
+     */
+    private boolean passedNextCheckpoint(CheckpointProgress progress, TriggerVolume[] checkpoints, Location from, Location to) {
+        progress.prepare(checkpoints.length);
+        int next = progress.getNextCheckpoint();
+        return next < checkpoints.length && checkpoints[next].passedThrough(from, to);
+    }
+    
+    /**
+     * Record a split and give the racer feedback
+     */
+    private void handleCheckpointReached(Player player, Course course, CheckpointProgress progress, int total, long raceTimeMs, Location location) {
+        progress.recordSplit(raceTimeMs);
+        int passed = progress.getPassedCount();
         
-        // Format time for display
-        long seconds = raceTimeMs / 1000;
-        long minutes = seconds / 60;
-        seconds = seconds % 60;
-        long milliseconds = raceTimeMs % 1000;
+        plugin.raceDebugLog("🚩 Checkpoint " + passed + "/" + total + " on " + course.getName() + " at " + raceTimeMs + "ms");
         
-        String timeDisplay;
-        if (minutes > 0) {
-            timeDisplay = String.format("§6⏱ %d:%02d.%03d", minutes, seconds, milliseconds);
-        } else {
-            timeDisplay = String.format("§6⏱ %d.%03d", seconds, milliseconds);
+        if (player != null) {
+            player.sendMessage("§e🚩 Checkpoint " + passed + "/" + total + " §7- §f" + CheckpointProgress.formatSplit(raceTimeMs));
+            soundEffectManager.playCheckpointEffects(player, location, course);
         }
+    }
+    
+    /**
+     * Tell a racer they reached the finish without every checkpoint (once per missed checkpoint)
+     */
+    private void warnMissedCheckpoint(Player player, CheckpointProgress progress, int total) {
+        if (player == null || progress.isMissedWarningSent()) return;
+        progress.setMissedWarningSent(true);
+        player.sendMessage("§c⚠ You missed checkpoint " + (progress.getNextCheckpoint() + 1) + "/" + total + "! Go back and pass it to finish.");
+    }
+    
+    /**
+     * Send the split times recorded during the race
+     */
+    private void sendSplitSummary(Player player, CheckpointProgress progress) {
+        if (player == null || progress.getPassedCount() == 0) return;
         
-        // Send to action bar for smooth updates
-        player.sendActionBar(timeDisplay);
+        StringBuilder splits = new StringBuilder("§7Splits: ");
+        for (int i = 0; i < progress.getPassedCount(); i++) {
+            if (i > 0) splits.append(" §7| ");
+            splits.append("§f").append(CheckpointProgress.formatSplit(progress.getSplitTimeMs(i)));
+        }
+        player.sendMessage(splits.toString());
     }
     
     /**
@@ -393,4 +481,12 @@ public class RaceLineListener implements Listener {
         return String.format("%s %.1f,%.1f,%.1f", 
                 loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ());
     }
+    
+    /**
+     * Per-boat move skip state
+     */
+    private static final class MoveGate {
+        private int nextCheckTick;
+        private int volumeVersion;
+    }
 }
@@ -10,6 +10,7 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.vehicle.VehicleDamageEvent;
 import org.bukkit.event.vehicle.VehicleDestroyEvent;
+import org.bukkit.event.vehicle.VehicleEnterEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
@@ -30,6 +31,12 @@ public class RaceProtectionListener implements Listener {
      */
     @EventHandler
     public void onPlayerDamage(EntityDamageEvent event) {
+        // Cheapest check first - most damage server-wide is a cause the policy doesn't cover
+        EntityDamageEvent.DamageCause cause = event.getCause();
+        if (!plugin.getConfigManager().getProtectionPolicy().cancels(cause)) {
+            return;
+        }
+        
         if (!(event.getEntity() instanceof Player)) {
             return;
         }
@@ -41,68 +48,30 @@ public class RaceProtectionListener implements Listener {
             return;
         }
         
-        // Check config for protection settings
-        if (!plugin.getConfig().getBoolean("multiplayer.player-protection.enabled", true)) {
-            return; // Protection disabled
-        }
-        
-        // Determine damage type and handle accordingly
-        EntityDamageEvent.DamageCause cause = event.getCause();
+        event.setCancelled(true);
         
         switch (cause) {
             case ENTITY_ATTACK:
             case ENTITY_SWEEP_ATTACK:
-                // Mob damage
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-mob-damage", true)) {
-                    event.setCancelled(true);
-                    // Only log occasionally to prevent spam
-                    if (Math.random() < 0.1) { // 10% chance to log
-                        plugin.multiplayerDebugLog("Prevented mob damage to " + player.getName() + " during race");
-                    }
+                // Only log occasionally to prevent spam
+                if (Math.random() < 0.1) { // 10% chance to log
+                    plugin.multiplayerDebugLog("Prevented mob damage to " + player.getName() + " during race");
                 }
                 break;
                 
             case ENTITY_EXPLOSION:
             case BLOCK_EXPLOSION:
-                // Explosion damage
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-explosion-damage", true)) {
-                    event.setCancelled(true);
-                    player.sendMessage("§e⚡ Protected from explosions during race!");
-                    plugin.multiplayerDebugLog("Prevented explosion damage to " + player.getName() + " during race");
-                }
-                break;
-                
-            case FALL:
-                // Fall damage (might want to keep for course obstacles)
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-fall-damage", false)) {
-                    event.setCancelled(true);
-                    plugin.multiplayerDebugLog("Prevented fall damage to " + player.getName() + " during race");
-                }
-                break;
-                
-            case DROWNING:
-                // Drowning (important for water courses)
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-drowning", true)) {
-                    event.setCancelled(true);
-                    plugin.multiplayerDebugLog("Prevented drowning damage to " + player.getName() + " during race");
-                }
+                player.sendMessage("§e⚡ Protected from explosions during race!");
+                plugin.multiplayerDebugLog("Prevented explosion damage to " + player.getName() + " during race");
                 break;
                 
             case PROJECTILE:
-                // PvP projectiles
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-pvp", true)) {
-                    event.setCancelled(true);
-                    player.sendMessage("§e⚡ PvP disabled during races!");
-                    plugin.multiplayerDebugLog("Prevented PvP damage to " + player.getName() + " during race");
-                }
+                player.sendMessage("§e⚡ PvP disabled during races!");
+                plugin.multiplayerDebugLog("Prevented PvP damage to " + player.getName() + " during race");
                 break;
                 
             default:
-                // Other damage types - check general protection
-                if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-all-damage", false)) {
-                    event.setCancelled(true);
-                    plugin.multiplayerDebugLog("Prevented " + cause + " damage to " + player.getName() + " during race");
-                }
+                plugin.multiplayerDebugLog("Prevented " + cause + " damage to " + player.getName() + " during race");
                 break;
         }
     }
@@ -123,14 +92,14 @@ public class RaceProtectionListener implements Listener {
         plugin.multiplayerDebugLog("Player " + player.getName() + " died during race - handling...");
         
         // Prevent item drops during races
-        if (plugin.getConfig().getBoolean("multiplayer.player-protection.prevent-item-drops", true)) {
+        if (plugin.getConfigManager().getProtectionPolicy().isPreventItemDrops()) {
             event.getDrops().clear();
             event.setDroppedExp(0);
             plugin.multiplayerDebugLog("Prevented item drops for " + player.getName());
         }
         
         // Handle death based on config
-        if (plugin.getConfig().getBoolean("multiplayer.player-protection.death-disqualifies", true)) {
+        if (plugin.getConfigManager().getProtectionPolicy().isDeathDisqualifies()) {
             // DQ the player
             plugin.getMultiplayerRaceManager().disqualifyPlayer(player.getUniqueId(), "Died during race");
             
@@ -145,13 +114,12 @@ public class RaceProtectionListener implements Listener {
      * Apply night vision when player joins a race
      */
     public void applyRaceEffects(Player player) {
-        if (!plugin.getConfig().getBoolean("multiplayer.effects.night-vision.enabled", true)) {
+        if (!plugin.getConfigManager().getSettings().isNightVisionEnabled()) {
             return;
         }
         
         // Apply night vision (amplifier 0 = lowest level, duration in ticks)
-        int durationSeconds = plugin.getConfig().getInt("multiplayer.effects.night-vision.duration", 600); // 10 minutes default
-        int durationTicks = durationSeconds * 20; // Convert to ticks
+        int durationTicks = plugin.getConfigManager().getSettings().getNightVisionDurationTicks();
         
         PotionEffect nightVision = new PotionEffect(
             PotionEffectType.NIGHT_VISION,
@@ -165,7 +133,7 @@ public class RaceProtectionListener implements Listener {
         player.sendMessage("§e✨ Night vision applied for better racing visibility!");
         
         plugin.multiplayerDebugLog("Applied night vision to " + player.getName() + 
-                                 " for " + durationSeconds + " seconds");
+                                 " for " + (durationTicks / 20) + " seconds");
     }
     
     /**
@@ -178,6 +146,17 @@ public class RaceProtectionListener implements Listener {
         }
     }
     
+    /**
+     * Keep players out of pre-spawned boats until the race seats them
+     */
+    @EventHandler
+    public void onIdleBoatEnter(VehicleEnterEvent event) {
+        if (event.getVehicle() instanceof Boat
+                && plugin.getBoatManager().isIdleRaceBoat(event.getVehicle().getUniqueId())) {
+            event.setCancelled(true);
+        }
+    }
+    
     /**
      * Prevent boat damage during multiplayer races
      */
@@ -194,6 +173,12 @@ public class RaceProtectionListener implements Listener {
             return;
         }
         
+        // Pre-spawned boats waiting at the start grid are always protected
+        if (plugin.getBoatManager().isIdleRaceBoat(boat.getUniqueId())) {
+            event.setCancelled(true);
+            return;
+        }
+        
         // Get the player in the boat
         if (boat.getPassengers().isEmpty()) {
             return;
@@ -211,7 +196,7 @@ public class RaceProtectionListener implements Listener {
         }
         
         // Check config for boat protection
-        if (plugin.getConfig().getBoolean("multiplayer.player-protection.protect-boats", true)) {
+        if (plugin.getConfigManager().getProtectionPolicy().isProtectBoats()) {
             event.setCancelled(true);
             plugin.multiplayerDebugLog("Prevented boat damage for " + player.getName() + " during race");
             
@@ -239,6 +224,12 @@ public class RaceProtectionListener implements Listener {
             return;
         }
         
+        // Pre-spawned boats waiting at the start grid are always protected
+        if (plugin.getBoatManager().isIdleRaceBoat(boat.getUniqueId())) {
+            event.setCancelled(true);
+            return;
+        }
+        
         // Get the player in the boat
         if (boat.getPassengers().isEmpty()) {
             return;
@@ -256,7 +247,7 @@ public class RaceProtectionListener implements Listener {
         }
         
         // Check config for boat protection
-        if (plugin.getConfig().getBoolean("multiplayer.player-protection.protect-boats", true)) {
+        if (plugin.getConfigManager().getProtectionPolicy().isProtectBoats()) {
             event.setCancelled(true);
             plugin.multiplayerDebugLog("Prevented boat destruction for " + player.getName() + " during race");
             
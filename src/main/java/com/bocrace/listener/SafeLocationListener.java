@@ -0,0 +1,36 @@
+package com.bocrace.listener;
+
+import com.bocrace.BOCRacePlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+
+/**
+ * Revalidates cached lobby landing spots when blocks change at or around them
+ */
+public class SafeLocationListener implements Listener {
+    
+    private final BOCRacePlugin plugin;
+    
+    public SafeLocationListener(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPhysics(BlockPhysicsEvent event) {
+        plugin.getStorageManager().getSafeLocationCache().onBlockChanged(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        plugin.getStorageManager().getSafeLocationCache().onBlockChanged(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        plugin.getStorageManager().getSafeLocationCache().onBlockChanged(event.getBlock());
+    }
+}
@@ -2,7 +2,9 @@ package com.bocrace.listener;
 
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
+import com.bocrace.storage.ButtonIndex;
 import com.bocrace.util.SoundEffectManager;
+import com.bocrace.util.TeleportUtil;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
@@ -106,8 +108,7 @@ public class SetupListener implements Listener {
         // Check if course is occupied - behavior depends on which button was clicked
         if (plugin.getRaceManager().isCourseOccupied(course.getName())) {
             // Determine which button was clicked
-            boolean isMainLobbyButton = course.getSpmainlobbybutton() != null && 
-                isSameBlock(course.getSpmainlobbybutton(), clickedBlock.getLocation());
+            boolean isMainLobbyButton = isMainLobbyButton(course, clickedBlock);
             
             plugin.raceDebugLog("❌ Course occupied - Button type: " + (isMainLobbyButton ? "mainlobby" : "courselobby"));
             
@@ -123,8 +124,7 @@ public class SetupListener implements Listener {
         }
         
         // Determine which button was clicked to track for finish teleport
-        boolean isMainLobbyButton = course.getSpmainlobbybutton() != null && 
-            isSameBlock(course.getSpmainlobbybutton(), clickedBlock.getLocation());
+        boolean isMainLobbyButton = isMainLobbyButton(course, clickedBlock);
         String buttonType = isMainLobbyButton ? "mainlobby" : "courselobby";
         
         // Start the race
@@ -154,7 +154,7 @@ public class SetupListener implements Listener {
         
         // Record course usage
         course.recordUsage(player.getName());
-        plugin.getStorageManager().saveCourse(course);
+        plugin.getStorageManager().saveCourseUsage(course);
         
         plugin.raceDebugLog("✅ RACE STARTED SUCCESSFULLY - Player: " + player.getName() + 
                            ", Course: " + course.getName() + ", Boat: " + boat.getUniqueId());
@@ -177,14 +177,13 @@ public class SetupListener implements Listener {
             return;
         }
         
-        destination.setX(destination.getBlockX() + 0.5);
-        destination.setZ(destination.getBlockZ() + 0.5);
-        destination.add(0, 1.0, 0);
+        destination = TeleportUtil.lobbyDestination(destination);
         
-        player.teleport(destination);
-        player.sendMessage("§aTeleported to " + locationName + "!");
-        
-        plugin.raceDebugLog("✅ TELEPORT SUCCESS - " + locationName);
+        String targetName = locationName;
+        plugin.getTeleportUtil().teleportAsync(player, destination, success -> {
+            player.sendMessage("§aTeleported to " + targetName + "!");
+            plugin.raceDebugLog("✅ TELEPORT SUCCESS - " + targetName);
+        });
     }
     
     private void teleportToCourseLobby(Player player, Course course) {
@@ -195,49 +194,28 @@ public class SetupListener implements Listener {
             return;
         }
         
-        Location destination = course.getSpcourselobby().clone();
-        destination.setX(destination.getBlockX() + 0.5);
-        destination.setZ(destination.getBlockZ() + 0.5);
-        destination.add(0, 1.0, 0);
+        Location destination = TeleportUtil.lobbyDestination(course.getSpcourselobby());
         
-        player.teleport(destination);
-        plugin.raceDebugLog("✅ TELEPORT SUCCESS - course lobby");
+        plugin.getTeleportUtil().teleportAsync(player, destination,
+                success -> plugin.raceDebugLog("✅ TELEPORT SUCCESS - course lobby"));
     }
     
     private Course findCourseByStartButton(Block block) {
-        for (Course course : plugin.getStorageManager().getCoursesByType(com.bocrace.model.CourseType.SINGLEPLAYER)) {
-            // Check main lobby button
-            if (course.getSpmainlobbybutton() != null) {
-                if (isSameBlock(course.getSpmainlobbybutton(), block.getLocation())) {
-                    return course;
-                }
-            }
-            // Check course lobby button
-            if (course.getSpcourselobbybutton() != null) {
-                if (isSameBlock(course.getSpcourselobbybutton(), block.getLocation())) {
-                    return course;
-                }
-            }
-        }
-        return null;
+        ButtonIndex.Entry entry = plugin.getStorageManager().getButtonIndex()
+                .find(block, ButtonIndex.Role.SP_MAIN_LOBBY, ButtonIndex.Role.SP_COURSE_LOBBY);
+        return entry != null ? plugin.getStorageManager().getCourse(entry.getCourseName()) : null;
     }
     
     private Course findCourseByReturnButton(Block block) {
-        for (Course course : plugin.getStorageManager().getCoursesByType(com.bocrace.model.CourseType.SINGLEPLAYER)) {
-            if (course.getSpreturn() != null) {
-                if (isSameBlock(course.getSpreturn(), block.getLocation())) {
-                    return course;
-                }
-            }
-        }
-        return null;
+        ButtonIndex.Entry entry = plugin.getStorageManager().getButtonIndex().find(block, ButtonIndex.Role.SP_RETURN);
+        return entry != null ? plugin.getStorageManager().getCourse(entry.getCourseName()) : null;
     }
     
-    private boolean isSameBlock(Location loc1, Location loc2) {
-        return loc1.getWorld().equals(loc2.getWorld()) &&
-               loc1.getBlockX() == loc2.getBlockX() &&
-               Math.abs(loc1.getBlockY() - loc2.getBlockY()) <= 1 && // Button face tolerance
-               loc1.getBlockZ() == loc2.getBlockZ();
+    private boolean isMainLobbyButton(Course course, Block block) {
+        ButtonIndex.Entry entry = plugin.getStorageManager().getButtonIndex()
+                .find(block, ButtonIndex.Role.SP_MAIN_LOBBY, ButtonIndex.Role.SP_COURSE_LOBBY);
+        return entry != null && entry.getRole() == ButtonIndex.Role.SP_MAIN_LOBBY
+                && entry.getCourseName().equals(course.getName());
     }
     
     private boolean isButton(org.bukkit.Material material) {
@@ -440,6 +418,14 @@ public class SetupListener implements Listener {
                 plugin.getLogger().info("[DEBUG] Main lobby spawn location set: " + location.toString());
                 break;
                 
+            case "setleaderboard":
+                // Bottom line floats just above the clicked block (cloned - the feedback below moves location)
+                course.setLeaderboardDisplay(location.clone().add(0.5, 1.2, 0.5));
+                success = true;
+                player.sendMessage("§aLeaderboard display location set for course '" + courseName + "'!");
+                plugin.getLogger().info("[DEBUG] Leaderboard display location set: " + location.toString());
+                break;
+                
             default:
                 // Check if it's a multiplayer boat spawn (setmpboatspawn1, setmpboatspawn2, etc.)
                 if (action.startsWith("setmpboatspawn")) {
@@ -464,6 +450,24 @@ public class SetupListener implements Listener {
                         // Fall through to default error
                     }
                 }
+                // Check if it's a checkpoint point (setcheckpoint3_1 = checkpoint #3, point 1)
+                if (action.startsWith("setcheckpoint")) {
+                    try {
+                        String[] parts = action.substring("setcheckpoint".length()).split("_");
+                        int checkpointNumber = Integer.parseInt(parts[0]);
+                        int point = Integer.parseInt(parts[1]);
+                        
+                        if (checkpointNumber >= 1 && (point == 1 || point == 2)) {
+                            course.setCheckpointPoint(checkpointNumber, point, location);
+                            success = true;
+                            player.sendMessage("§aCheckpoint #" + checkpointNumber + " point " + point + " set for course '" + courseName + "'!");
+                            plugin.getLogger().info("[DEBUG] Checkpoint " + checkpointNumber + " point " + point + " set: " + location.toString());
+                            break;
+                        }
+                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                        // Fall through to default error
+                    }
+                }
                 player.sendMessage("§cUnknown setup action: " + action);
                 plugin.getLogger().info("[DEBUG] Unknown setup action: " + action);
                 return;
@@ -474,6 +478,11 @@ public class SetupListener implements Listener {
             plugin.getStorageManager().saveCourse(course);
             plugin.getLogger().info("[DEBUG] Course saved after location update: " + courseName);
             
+            // Rebuild the course's leaderboard display at its new location
+            if (action.equals("setleaderboard") && plugin.getLeaderboardDisplayManager() != null) {
+                plugin.getLeaderboardDisplayManager().refreshCourse(courseName);
+            }
+            
             // Visual feedback - particles and sound
             Location particleLocation = location.add(0.5, 1, 0.5); // Center above block
             player.getWorld().spawnParticle(
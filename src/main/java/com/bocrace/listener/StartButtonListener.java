@@ -2,8 +2,8 @@ package com.bocrace.listener;
 
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
-import com.bocrace.model.CourseType;
 import com.bocrace.race.ActiveRace;
+import com.bocrace.storage.ButtonIndex;
 import com.bocrace.util.BoatManager;
 import com.bocrace.util.TeleportUtil;
 import org.bukkit.Material;
@@ -151,7 +151,7 @@ public class StartButtonListener implements Listener {
         
         // Record course usage
         course.recordUsage(player.getName());
-        plugin.getStorageManager().saveCourse(course);
+        plugin.getStorageManager().saveCourseUsage(course);
         
         plugin.debugRaceLog("Race started successfully - Player: " + player.getName() + 
                        ", Course: " + course.getName() + 
@@ -163,75 +163,25 @@ public class StartButtonListener implements Listener {
      * Find a course by its start button location
      */
     private Course findCourseByStartButton(Block block) {
-        plugin.raceDebugLog("🔍 Looking for course with start button at: " + formatLocation(block.getLocation()));
-        
-        for (Course course : plugin.getStorageManager().getCoursesByType(CourseType.SINGLEPLAYER)) {
-            if (course.getSpstartbutton() != null) {
-                plugin.raceDebugLog("🔍 Checking course " + course.getName() + " button at: " + formatLocation(course.getSpstartbutton()));
-                
-                if (isSameBlock(course.getSpstartbutton(), block.getLocation())) {
-                    plugin.raceDebugLog("✅ START BUTTON MATCH FOUND - Course: " + course.getName());
-                    return course;
-                } else {
-                    plugin.raceDebugLog("❌ No match for course " + course.getName());
-                }
-            } else {
-                plugin.raceDebugLog("⚠️ Course " + course.getName() + " has no start button set");
-            }
-        }
-        
-        plugin.raceDebugLog("❌ NO COURSE FOUND for button at: " + formatLocation(block.getLocation()));
-        return null;
+        return findCourseByButton(block, ButtonIndex.Role.SP_START_LEGACY);
     }
     
     /**
      * Find a course by its return button location
      */
     private Course findCourseByReturnButton(Block block) {
-        for (Course course : plugin.getStorageManager().getCoursesByType(CourseType.SINGLEPLAYER)) {
-            if (course.getSpreturn() != null) {
-                if (isSameBlock(course.getSpreturn(), block.getLocation())) {
-                    plugin.raceDebugLog("Return button match found - Course: " + course.getName() + 
-                                       ", Button at: " + formatLocation(course.getSpreturn()) + 
-                                       ", Clicked: " + formatLocation(block.getLocation()));
-                    return course;
-                }
-            }
-        }
-        return null;
+        return findCourseByButton(block, ButtonIndex.Role.SP_RETURN);
     }
     
     /**
-     * Check if two locations represent the same block (with button face tolerance)
+     * Resolve a clicked block to a course with a single index probe
      */
-    private boolean isSameBlock(org.bukkit.Location loc1, org.bukkit.Location loc2) {
-        // Check if same world
-        if (!loc1.getWorld().equals(loc2.getWorld())) {
-            plugin.raceDebugLog("Block comparison FAILED - different worlds");
-            return false;
-        }
-        
-        // Check X and Z coordinates (must be exact)
-        boolean sameXZ = loc1.getBlockX() == loc2.getBlockX() && loc1.getBlockZ() == loc2.getBlockZ();
+    private Course findCourseByButton(Block block, ButtonIndex.Role role) {
+        ButtonIndex.Entry entry = plugin.getStorageManager().getButtonIndex().find(block, role);
+        if (entry == null) return null;
         
-        // Check Y coordinate with tolerance for button faces (±1 block)
-        int yDiff = Math.abs(loc1.getBlockY() - loc2.getBlockY());
-        boolean sameY = yDiff <= 1; // Allow 1 block difference for button faces
-        
-        boolean same = sameXZ && sameY;
-        
-        plugin.raceDebugLog("Block comparison - " + formatLocation(loc1) + " vs " + formatLocation(loc2) + 
-                           " | XZ match: " + sameXZ + ", Y diff: " + yDiff + " | Result: " + same);
-        return same;
-    }
-    
-    /**
-     * Format a location for debug logging
-     */
-    private String formatLocation(org.bukkit.Location loc) {
-        if (loc == null) return "null";
-        return String.format("%s %d,%d,%d", 
-                loc.getWorld().getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+        plugin.raceDebugLog("✅ " + role + " button match - Course: " + entry.getCourseName());
+        return plugin.getStorageManager().getCourse(entry.getCourseName());
     }
     
     /**
@@ -0,0 +1,24 @@
+package com.bocrace.listener;
+
+import com.bocrace.BOCRacePlugin;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Feeds tick durations to the tick load monitor (placeholder load shedding)
+ */
+public class TickLoadListener implements Listener {
+    
+    private final BOCRacePlugin plugin;
+    
+    public TickLoadListener(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        plugin.getTickLoadMonitor().onTickEnd(event.getTickDuration());
+    }
+}
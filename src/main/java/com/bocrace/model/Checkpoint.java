@@ -0,0 +1,33 @@
+package com.bocrace.model;
+
+import org.bukkit.Location;
+
+/**
+ * A course checkpoint line, defined by two corner points like the start/finish lines
+ */
+public class Checkpoint {
+    
+    private Location point1;
+    private Location point2;
+    
+    public Checkpoint() {
+    }
+    
+    public Checkpoint(Location point1, Location point2) {
+        this.point1 = point1;
+        this.point2 = point2;
+    }
+    
+    public Location getPoint1() { return point1; }
+    public void setPoint1(Location point1) { this.point1 = point1; }
+    
+    public Location getPoint2() { return point2; }
+    public void setPoint2(Location point2) { this.point2 = point2; }
+    
+    /**
+     * Both points set - only complete checkpoints are used for racing
+     */
+    public boolean isComplete() {
+        return point1 != null && point2 != null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bocrace.model;
 
 import com.bocrace.BOCRacePlugin;
+import com.bocrace.util.TimeFormat;
 import org.bukkit.Location;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -49,6 +50,12 @@ public class Course {
     private Location mpreturnButton;        // End-of-course return to lobby
     private List<Location> mpboatSpawns;    // 10 random spawn points for boats
     
+    // Ordered checkpoints (shared by singleplayer and multiplayer)
+    private List<Checkpoint> checkpoints;   // Index 0 = checkpoint #1
+    
+    // Built-in leaderboard display (bottom line anchor, null = no board)
+    private Location leaderboardDisplay;
+    
     // Per-course settings (optional overrides)
     private Boolean soundsEnabled;      // null = use global config
     private Boolean particlesEnabled;   // null = use global config
@@ -68,6 +75,7 @@ public class Course {
     
     // Time display precision (short, medium, long)
     private String timePrecision = "short";     // Default: short (14.51, 1:35)
+    private TimeFormat.Precision precision = TimeFormat.Precision.SHORT; // Parsed form of timePrecision
     
     
     // Default constructor
@@ -77,6 +85,7 @@ public class Course {
         this.lastEdited = LocalDateTime.now();
         this.customMessages = new HashMap<>();
         this.mpboatSpawns = new ArrayList<>();
+        this.checkpoints = new ArrayList<>();
     }
     
     // Constructor with required fields
@@ -250,6 +259,38 @@ public class Course {
         return mpboatSpawns.get(index);
     }
 
+    public List<Checkpoint> getCheckpoints() { return checkpoints; }
+    public void setCheckpoints(List<Checkpoint> checkpoints) { this.checkpoints = checkpoints; }
+    
+    public Location getLeaderboardDisplay() { return leaderboardDisplay; }
+    public void setLeaderboardDisplay(Location leaderboardDisplay) { this.leaderboardDisplay = leaderboardDisplay; }
+    
+    // Helper method to set one point of checkpoint #number (1-based), growing the list as needed
+    public void setCheckpointPoint(int number, int point, Location location) {
+        if (this.checkpoints == null) {
+            this.checkpoints = new ArrayList<>();
+        }
+        while (checkpoints.size() < number) {
+            checkpoints.add(new Checkpoint());
+        }
+        Checkpoint checkpoint = checkpoints.get(number - 1);
+        if (point == 1) {
+            checkpoint.setPoint1(location);
+        } else {
+            checkpoint.setPoint2(location);
+        }
+    }
+    
+    // Number of checkpoints with both points set
+    public int getCompleteCheckpointCount() {
+        if (checkpoints == null) return 0;
+        int count = 0;
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.isComplete()) count++;
+        }
+        return count;
+    }
+
     // Helper methods
     public void updateLastEdited() {
         this.lastEdited = LocalDateTime.now();
@@ -284,7 +325,7 @@ public class Course {
      */
     public boolean areSoundsEnabled(BOCRacePlugin plugin) {
         if (soundsEnabled != null) return soundsEnabled;
-        return plugin.getConfig().getBoolean("sounds.enabled", true);
+        return plugin.getConfigManager().getSettings().isSoundsEnabled();
     }
     
     /**
@@ -292,7 +333,7 @@ public class Course {
      */
     public boolean areParticlesEnabled(BOCRacePlugin plugin) {
         if (particlesEnabled != null) return particlesEnabled;
-        return plugin.getConfig().getBoolean("particles.enabled", true);
+        return plugin.getConfigManager().getSettings().isParticlesEnabled();
     }
     
     /**
@@ -302,7 +343,7 @@ public class Course {
         if (customMessages != null && customMessages.containsKey(messageKey)) {
             return customMessages.get(messageKey);
         }
-        return plugin.getConfig().getString("messages." + messageKey, defaultValue);
+        return plugin.getConfigManager().getSettings().getMessage(messageKey, defaultValue);
     }
     
     public String getPrefixDisplay() {
@@ -378,8 +419,16 @@ public class Course {
         return timePrecision;
     }
     
+    /**
+     * Time precision parsed once for the formatters
+     */
+    public TimeFormat.Precision getPrecision() {
+        return precision;
+    }
+    
     public void setTimePrecision(String timePrecision) {
         this.timePrecision = timePrecision;
+        this.precision = TimeFormat.Precision.of(timePrecision);
         this.lastEdited = LocalDateTime.now();
     }
 }
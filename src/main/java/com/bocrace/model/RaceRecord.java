@@ -2,6 +2,7 @@ package com.bocrace.model;
 
 import java.time.LocalDateTime;
 import com.bocrace.BOCRacePlugin;
+import com.bocrace.util.TimeFormat;
 
 /**
  * Represents a race record with time, player, course, and metadata
@@ -64,38 +65,7 @@ public class RaceRecord {
         
         // Get course precision setting
         Course course = plugin.getStorageManager().getCourse(courseName);
-        String precision = course != null ? course.getTimePrecision() : "short";
-        
-        long timeMs = (long)(time * 1000);
-        long minutes = timeMs / 60000;
-        long seconds = (timeMs % 60000) / 1000;
-        long milliseconds = timeMs % 1000;
-        
-        if (minutes > 0) {
-            // For times over 1 minute, format based on precision
-            switch (precision) {
-                case "short":
-                    return String.format("%d:%02d", minutes, seconds);
-                case "medium":
-                    return String.format("%d:%02d.%01d", minutes, seconds, milliseconds / 100);
-                case "long":
-                    return String.format("%d:%02d.%02d", minutes, seconds, milliseconds / 10);
-                default:
-                    return String.format("%d:%02d", minutes, seconds);
-            }
-        } else {
-            // For times under 1 minute, format based on precision
-            switch (precision) {
-                case "short":
-                    return String.format("%d.%02d", seconds, milliseconds / 10);
-                case "medium":
-                    return String.format("%d.%03d", seconds, milliseconds);
-                case "long":
-                    return String.format("%d.%03d", seconds, milliseconds);
-                default:
-                    return String.format("%d.%02d", seconds, milliseconds / 10);
-            }
-        }
+        return TimeFormat.format((long)(time * 1000), course != null ? course.getPrecision() : TimeFormat.Precision.SHORT);
     }
     
     public String getFormattedDate() {
@@ -1,6 +1,7 @@
 package com.bocrace.race;
 
 import com.bocrace.model.CourseType;
+import com.bocrace.util.TimeFormat;
 import org.bukkit.Location;
 
 import java.time.LocalDateTime;
@@ -26,6 +27,7 @@ public class ActiveRace {
     
     // Safety: Save player's location before race starts
     private final Location preRaceLocation;
+    private boolean preRaceLocationSafe = true; // Validated once at race start, not at teleport time
     
     private UUID boatUuid;
     private State state;
@@ -34,6 +36,7 @@ public class ActiveRace {
     private String dqReason;
     private long lastDisplayedSecond = -1; // For chat timer display
     private String startButtonType; // Track which button was used to start race
+    private final CheckpointProgress checkpointProgress = new CheckpointProgress();
     
     public ActiveRace(UUID playerUuid, String playerName, String courseName, CourseType courseType, Location preRaceLocation) {
         this.playerUuid = playerUuid;
@@ -52,6 +55,8 @@ public class ActiveRace {
     public CourseType getCourseType() { return courseType; }
     public LocalDateTime getStartTime() { return startTime; }
     public Location getPreRaceLocation() { return preRaceLocation; }
+    public Location getSafePreRaceLocation() { return preRaceLocationSafe ? preRaceLocation : null; }
+    public void setPreRaceLocationSafe(boolean preRaceLocationSafe) { this.preRaceLocationSafe = preRaceLocationSafe; }
     public UUID getBoatUuid() { return boatUuid; }
     public State getState() { return state; }
     public long getStartNanoTime() { return startNanoTime; }
@@ -59,6 +64,7 @@ public class ActiveRace {
     public String getDqReason() { return dqReason; }
     public long getLastDisplayedSecond() { return lastDisplayedSecond; }
     public String getStartButtonType() { return startButtonType; }
+    public CheckpointProgress getCheckpointProgress() { return checkpointProgress; }
     
     // Setters
     public void setBoatUuid(UUID boatUuid) { this.boatUuid = boatUuid; }
@@ -117,10 +123,7 @@ public class ActiveRace {
     }
     
     private String formatTime(long milliseconds) {
-        long minutes = milliseconds / 60000;
-        long seconds = (milliseconds % 60000) / 1000;
-        long millis = milliseconds % 1000;
-        return String.format("Race Time: %02d:%02d.%03d", minutes, seconds, millis);
+        return TimeFormat.clock("Race Time: ", milliseconds);
     }
     
     private String formatTimeShort(long milliseconds) {
@@ -0,0 +1,55 @@
+package com.bocrace.race;
+
+import com.bocrace.util.TimeFormat;
+
+/**
+ * Per-racer checkpoint tracking: which checkpoint is next and the split time at each one
+ * Only the next expected checkpoint is tested on a move, so the cost stays constant per racer
+ */
+public class CheckpointProgress {
+    
+    private static final long[] NO_SPLITS = new long[0];
+    
+    private int nextCheckpoint = 0;
+    private long[] splitTimesMs = NO_SPLITS;
+    private boolean missedWarningSent = false;
+    
+    /**
+     * Size the split buffer for the course (called once, before the first checkpoint test)
+     */
+    public void prepare(int checkpointCount) {
+        if (splitTimesMs.length != checkpointCount) {
+            splitTimesMs = new long[checkpointCount];
+            if (nextCheckpoint > checkpointCount) nextCheckpoint = checkpointCount;
+        }
+    }
+    
+    /**
+     * Record the split for the next checkpoint and advance
+     */
+    public void recordSplit(long raceTimeMs) {
+        if (nextCheckpoint < splitTimesMs.length) {
+            splitTimesMs[nextCheckpoint++] = raceTimeMs;
+            missedWarningSent = false;
+        }
+    }
+    
+    public boolean hasPassedAll(int checkpointCount) {
+        return nextCheckpoint >= checkpointCount;
+    }
+    
+    public int getNextCheckpoint() { return nextCheckpoint; }
+    public int getPassedCount() { return nextCheckpoint; }
+    public long[] getSplitTimesMs() { return splitTimesMs; }
+    public long getSplitTimeMs(int index) { return splitTimesMs[index]; }
+    
+    public boolean isMissedWarningSent() { return missedWarningSent; }
+    public void setMissedWarningSent(boolean missedWarningSent) { this.missedWarningSent = missedWarningSent; }
+    
+    /**
+     * Format a split for chat like "1:02.345" or "42.345"
+     */
+    public static String formatSplit(long ms) {
+        return TimeFormat.split(ms);
+    }
+}
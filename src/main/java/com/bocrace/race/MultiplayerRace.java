@@ -17,7 +17,7 @@ public class MultiplayerRace {
     
     public enum State {
         LOBBY,      // Race created, players can join
-        STARTING,   // Race starting countdown (future feature)
+        STARTING,   // Leader pressed start - boats being mounted, then countdown
         RUNNING,    // Race in progress
         FINISHED,   // Race completed
         CANCELLED   // Race cancelled by leader
@@ -33,6 +33,7 @@ public class MultiplayerRace {
         private boolean disqualified;
         private String disqualifyReason;
         private boolean timerStarted; // Flag for when timer actually starts (crossing start line)
+        private final CheckpointProgress checkpointProgress = new CheckpointProgress();
         
         public PlayerResult(UUID playerId, String playerName, long startTimeMs) {
             this.playerId = playerId;
@@ -65,6 +66,7 @@ public class MultiplayerRace {
         public boolean isFinished() { return finishTimeMs != null; }
         public boolean isTimerStarted() { return timerStarted; }
         public void startTimer() { this.timerStarted = true; }
+        public CheckpointProgress getCheckpointProgress() { return checkpointProgress; }
     }
     
     private final String raceId;
@@ -79,6 +81,7 @@ public class MultiplayerRace {
     private final List<Location> assignedBoatSpawns;
     private final Map<UUID, Integer> playerBoatSpawns; // playerId -> spawn index
     private BukkitTask timeoutTask;
+    private MultiplayerStartSequence startSequence;
     
     private long raceStartTimeMs;
     private int nextPlacement;
@@ -147,7 +150,7 @@ public class MultiplayerRace {
     }
     
     /**
-     * Start the race - leader joins and race begins
+     * Start the race - leader joins and the start countdown begins
      */
     public Location startRace(Player leader) {
         if (state != State.LOBBY || !leaderId.equals(leader.getUniqueId())) {
@@ -160,7 +163,20 @@ public class MultiplayerRace {
             return null; // No spawn available for leader
         }
         
-        // Start the race
+        // Lock the lobby while boats are mounted and the countdown runs
+        state = State.STARTING;
+        
+        return leaderSpawn;
+    }
+    
+    /**
+     * Countdown finished - race begins for everyone at the same instant
+     */
+    public void beginRunning() {
+        if (state != State.STARTING) {
+            return;
+        }
+        
         state = State.RUNNING;
         raceStartTimeMs = System.currentTimeMillis();
         
@@ -170,8 +186,6 @@ public class MultiplayerRace {
             PlayerResult updatedResult = new PlayerResult(result.getPlayerId(), result.getPlayerName(), raceStartTimeMs);
             players.put(result.getPlayerId(), updatedResult);
         }
-        
-        return leaderSpawn;
     }
     
     /**
@@ -259,6 +273,13 @@ public class MultiplayerRace {
         return assignedBoatSpawns.get(spawnIndex);
     }
     
+    /**
+     * Get boat spawn index for a player
+     */
+    public Integer getPlayerBoatSpawnIndex(UUID playerId) {
+        return playerBoatSpawns.get(playerId);
+    }
+    
     /**
      * Check if player can join (not full, in lobby state)
      */
@@ -290,4 +311,6 @@ public class MultiplayerRace {
     
     public void setTimeoutTask(BukkitTask timeoutTask) { this.timeoutTask = timeoutTask; }
     public BukkitTask getTimeoutTask() { return timeoutTask; }
+    public void setStartSequence(MultiplayerStartSequence startSequence) { this.startSequence = startSequence; }
+    public MultiplayerStartSequence getStartSequence() { return startSequence; }
 }
@@ -4,6 +4,8 @@ import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
 import com.bocrace.model.CourseType;
 import com.bocrace.model.RaceRecord;
+import com.bocrace.util.SafeLocationCache;
+import com.bocrace.util.TimeFormat;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Boat;
@@ -55,7 +57,7 @@ public class MultiplayerRaceManager {
         String raceId = generateRaceId(course.getName());
         
         // Get timeout from config
-        long timeoutMs = plugin.getConfig().getLong("multiplayer.race-timeout", 300) * 1000;
+        long timeoutMs = plugin.getConfigManager().getSettings().getRaceTimeoutMs();
         
         // Create race
         MultiplayerRace race = new MultiplayerRace(raceId, course, leader, timeoutMs);
@@ -73,6 +75,14 @@ public class MultiplayerRaceManager {
             }
         }.runTaskLater(plugin, timeoutMs / 50)); // Convert ms to ticks
         
+        // Load and hold the course chunks for the lifetime of the race
+        plugin.getCourseChunkManager().acquire(course);
+        
+        // Pre-spawn boats at the spawn points while the lobby fills
+        MultiplayerStartSequence startSequence = new MultiplayerStartSequence(plugin, race, () -> beginRace(race));
+        race.setStartSequence(startSequence);
+        startSequence.start();
+        
         // Send server announcement
         sendRaceCreatedAnnouncement(race);
         
@@ -110,11 +120,8 @@ public class MultiplayerRaceManager {
         // Register player
         playerRaces.put(player.getUniqueId(), race);
         
-        // Teleport player to boat spawn
-        player.teleport(boatSpawn);
-        
-        // Spawn boat with player
-        plugin.getBoatManager().spawnRaceBoat(player, boatSpawn);
+        // Seat player in their (pre-spawned) boat on the next mount slot
+        race.getStartSequence().queueMount(player.getUniqueId());
         
         // Play join effects
         plugin.getSoundEffectManager().playRaceStartEffects(player, boatSpawn, course);
@@ -154,11 +161,32 @@ public class MultiplayerRaceManager {
         // Register leader as player
         playerRaces.put(leader.getUniqueId(), race);
         
-        // Teleport leader to boat spawn
-        leader.teleport(leaderSpawn);
+        // Seat leader, then count everyone down together once all boats are mounted
+        race.getStartSequence().queueMount(leader.getUniqueId());
+        race.getStartSequence().requestCountdown();
+        
+        for (UUID playerId : race.getPlayers().keySet()) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                player.sendMessage("§e§l⏳ Race starting! §eGet ready...");
+            }
+        }
+        
+        plugin.multiplayerDebugLog("Starting race: " + race.getRaceId() + " with " + 
+                                  race.getPlayerCount() + " players");
+        
+        return true;
+    }
+    
+    /**
+     * Countdown finished - switch the race to running for everyone at once
+     */
+    private void beginRace(MultiplayerRace race) {
+        if (race.getState() != MultiplayerRace.State.STARTING || !activeRaces.containsKey(race.getRaceId())) {
+            return;
+        }
         
-        // Spawn boat for leader
-        plugin.getBoatManager().spawnRaceBoat(leader, leaderSpawn);
+        race.beginRunning();
         
         // Send race started announcement
         sendRaceStartedAnnouncement(race);
@@ -168,14 +196,12 @@ public class MultiplayerRaceManager {
             Player player = Bukkit.getPlayer(playerId);
             if (player != null) {
                 player.sendMessage("§a§l🚀 RACE STARTED! §a§lCross the start line to begin timing!");
-                plugin.getSoundEffectManager().playRaceStartEffects(player, player.getLocation(), course);
+                plugin.getSoundEffectManager().playRaceStartEffects(player, player.getLocation(), race.getCourse());
             }
         }
         
         plugin.multiplayerDebugLog("Started race: " + race.getRaceId() + " with " + 
                                   race.getPlayerCount() + " players");
-        
-        return true;
     }
     
     /**
@@ -242,7 +268,7 @@ public class MultiplayerRaceManager {
                 // Check if it's a personal best
                 RaceRecord bestRecord = plugin.getRecordManager().getPlayerBestTime(player.getName(), race.getCourse().getName());
                 if (bestRecord == null || result.getRaceTimeMs() < (bestRecord.getTime() * 1000)) {
-                    String pbMessage = plugin.getConfig().getString("messages.personal-best", "§a§l⭐ NEW PERSONAL BEST! §a§l⭐");
+                    String pbMessage = plugin.getConfigManager().getSettings().getMessage("personal-best", "§a§l⭐ NEW PERSONAL BEST! §a§l⭐");
                     player.sendMessage(pbMessage);
                     plugin.getSoundEffectManager().playPersonalBestEffects(player, player.getLocation());
                     plugin.multiplayerDebugLog("🌟 NEW MULTIPLAYER PB! - Player: " + player.getName() + 
@@ -280,9 +306,9 @@ public class MultiplayerRaceManager {
                 public void run() {
                     if (player.isOnline()) {
                         removeRaceEffects(player);
-                        Location lobbySpawn = race.getCourse().getMpraceLobbySpawn();
+                        Location lobbySpawn = getLobbyReturnLocation(race);
                         if (lobbySpawn != null) {
-                            player.teleport(lobbySpawn);
+                            plugin.getTeleportUtil().teleportAsync(player, lobbySpawn, null);
                         }
                     }
                 }
@@ -346,15 +372,9 @@ public class MultiplayerRaceManager {
             }
             
             // Teleport back to race lobby (with proper positioning)
-            Location lobbySpawn = race.getCourse().getMpraceLobbySpawn();
-            if (lobbySpawn != null) {
-                // Fix positioning - ensure they spawn on top of block, not inside
-                Location safeLocation = lobbySpawn.clone();
-                safeLocation.setX(safeLocation.getBlockX() + 0.5);
-                safeLocation.setZ(safeLocation.getBlockZ() + 0.5);
-                safeLocation.setY(safeLocation.getBlockY() + 1.0); // 1 block above surface
-                
-                player.teleport(safeLocation);
+            Location safeLocation = getLobbyReturnLocation(race);
+            if (safeLocation != null) {
+                plugin.getTeleportUtil().teleportAsync(player, safeLocation, null);
             }
         }
         
@@ -392,15 +412,9 @@ public class MultiplayerRaceManager {
             }
             
             // Always teleport back to race lobby (with proper positioning)
-            Location lobbySpawn = race.getCourse().getMpraceLobbySpawn();
-            if (lobbySpawn != null) {
-                // Fix positioning - ensure they spawn on top of block, not inside
-                Location safeLocation = lobbySpawn.clone();
-                safeLocation.setX(safeLocation.getBlockX() + 0.5);
-                safeLocation.setZ(safeLocation.getBlockZ() + 0.5);
-                safeLocation.setY(safeLocation.getBlockY() + 1.0); // 1 block above surface
-                
-                player.teleport(safeLocation);
+            Location safeLocation = getLobbyReturnLocation(race);
+            if (safeLocation != null) {
+                plugin.getTeleportUtil().teleportAsync(player, safeLocation, null);
                 plugin.multiplayerDebugLog("Teleported " + player.getName() + " back to race lobby");
             }
         }
@@ -421,8 +435,8 @@ public class MultiplayerRaceManager {
         
         if (race.getLeaderId().equals(playerId)) {
             // Leader disconnected
-            if (race.getState() == MultiplayerRace.State.LOBBY) {
-                // Cancel race if still in lobby
+            if (race.getState() == MultiplayerRace.State.LOBBY || race.getState() == MultiplayerRace.State.STARTING) {
+                // Cancel race if still in lobby or counting down
                 race.cancelRace();
                 cleanupRace(race, "Race leader disconnected");
             } else if (race.getState() == MultiplayerRace.State.RUNNING) {
@@ -498,10 +512,8 @@ public class MultiplayerRaceManager {
         endRace(race);
         
         // Send timeout announcement
-        String message = plugin.getConfig().getString("multiplayer.announcements.race-timeout", 
-                                                    "&cRace on &6{course} &chas timed out! Unfinished players disqualified.")
-                              .replace("{course}", race.getCourse().getName())
-                              .replace("&", "§");
+        String message = plugin.getConfigManager().getSettings().getRaceTimeoutAnnouncement()
+                              .replace("{course}", race.getCourse().getName());
         Bukkit.broadcastMessage(message);
         
         plugin.debugLog("Timed out multiplayer race: " + raceId);
@@ -524,15 +536,10 @@ public class MultiplayerRaceManager {
                 }
                 
                 // Teleport back to race lobby (with proper positioning)
-                Location lobbySpawn = race.getCourse().getMpraceLobbySpawn();
-                if (lobbySpawn != null) {
-                    // Fix positioning - ensure they spawn on top of block, not inside
-                    Location safeLocation = lobbySpawn.clone();
-                    safeLocation.setX(safeLocation.getBlockX() + 0.5);
-                    safeLocation.setZ(safeLocation.getBlockZ() + 0.5);
-                    safeLocation.setY(safeLocation.getBlockY() + 1.0); // 1 block above surface
-                    
-                    player.teleport(safeLocation);
+                Location safeLocation = getLobbyReturnLocation(race);
+                if (safeLocation != null) {
+                    // Many players at once - spread across ticks
+                    plugin.getTeleportUtil().queueReturn(player, safeLocation, null);
                 }
             }
         }
@@ -541,11 +548,32 @@ public class MultiplayerRaceManager {
         cleanupRaceData(race);
     }
     
+    /**
+     * Race lobby return point (precomputed safe spot, one block above the stored spawn)
+     */
+    private Location getLobbyReturnLocation(MultiplayerRace race) {
+        Location destination = plugin.getStorageManager().getSafeLocationCache()
+                .getDestination(race.getCourse(), SafeLocationCache.Spot.RACE_LOBBY);
+        if (destination == null && race.getCourse().getMpraceLobbySpawn() != null
+                && race.getCourse().getMpraceLobbySpawn().getWorld() != null) {
+            // Lobby spot is blocked - fall back to its world spawn
+            return race.getCourse().getMpraceLobbySpawn().getWorld().getSpawnLocation();
+        }
+        return destination;
+    }
+    
     /**
      * Remove race from all tracking maps
      */
     private void cleanupRaceData(MultiplayerRace race) {
-        activeRaces.remove(race.getRaceId());
+        // Stop the start pipeline and drop unused pre-spawned boats
+        if (race.getStartSequence() != null) {
+            race.getStartSequence().stop();
+        }
+        
+        if (activeRaces.remove(race.getRaceId()) != null) {
+            plugin.getCourseChunkManager().release(race.getCourse().getName());
+        }
         courseRaces.remove(race.getCourse().getName());
         
         // Remove all players from tracking
@@ -586,28 +614,22 @@ public class MultiplayerRaceManager {
      * Send server announcements
      */
     private void sendRaceCreatedAnnouncement(MultiplayerRace race) {
-        String message = plugin.getConfig().getString("multiplayer.announcements.race-created",
-                                                    "&6{player} &eis starting a multiplayer race on &a{course}&e! Join at the race lobby for prizes!")
+        String message = plugin.getConfigManager().getSettings().getRaceCreatedAnnouncement()
                               .replace("{player}", race.getLeaderName())
-                              .replace("{course}", race.getCourse().getName())
-                              .replace("&", "§");
+                              .replace("{course}", race.getCourse().getName());
         Bukkit.broadcastMessage(message);
     }
     
     private void sendRaceStartedAnnouncement(MultiplayerRace race) {
-        String message = plugin.getConfig().getString("multiplayer.announcements.race-started",
-                                                    "&aRace started on &6{course}&a! &7({players} racers)")
+        String message = plugin.getConfigManager().getSettings().getRaceStartedAnnouncement()
                               .replace("{course}", race.getCourse().getName())
-                              .replace("{players}", String.valueOf(race.getPlayerCount()))
-                              .replace("&", "§");
+                              .replace("{players}", String.valueOf(race.getPlayerCount()));
         Bukkit.broadcastMessage(message);
     }
     
     private void sendRaceFinishedAnnouncement(MultiplayerRace race) {
-        String message = plugin.getConfig().getString("multiplayer.announcements.race-finished",
-                                                    "&6Race completed on &a{course}&6! Results posted.")
-                              .replace("{course}", race.getCourse().getName())
-                              .replace("&", "§");
+        String message = plugin.getConfigManager().getSettings().getRaceFinishedAnnouncement()
+                              .replace("{course}", race.getCourse().getName());
         Bukkit.broadcastMessage(message);
     }
     
@@ -642,16 +664,7 @@ public class MultiplayerRaceManager {
             return "N/A";
         }
         
-        long seconds = timeMs / 1000;
-        long minutes = seconds / 60;
-        seconds = seconds % 60;
-        long milliseconds = timeMs % 1000;
-        
-        if (minutes > 0) {
-            return String.format("%d:%02d.%03d", minutes, seconds, milliseconds);
-        } else {
-            return String.format("%d.%03d", seconds, milliseconds);
-        }
+        return TimeFormat.split(timeMs);
     }
     
     // Public getters for external access
@@ -675,6 +688,10 @@ public class MultiplayerRaceManager {
         return activeRaces.size();
     }
     
+    public java.util.Collection<MultiplayerRace> getActiveRaceValues() {
+        return java.util.Collections.unmodifiableCollection(activeRaces.values());
+    }
+    
     /**
      * Apply race effects to a player (night vision, etc.)
      */
@@ -694,9 +711,8 @@ public class MultiplayerRaceManager {
             });
             
             // Apply night vision directly here for now
-            if (plugin.getConfig().getBoolean("multiplayer.effects.night-vision.enabled", true)) {
-                int durationSeconds = plugin.getConfig().getInt("multiplayer.effects.night-vision.duration", 600);
-                int durationTicks = durationSeconds * 20;
+            if (plugin.getConfigManager().getSettings().isNightVisionEnabled()) {
+                int durationTicks = plugin.getConfigManager().getSettings().getNightVisionDurationTicks();
                 
                 org.bukkit.potion.PotionEffect nightVision = new org.bukkit.potion.PotionEffect(
                     org.bukkit.potion.PotionEffectType.NIGHT_VISION,
@@ -0,0 +1,201 @@
+package com.bocrace.race;
+
+import com.bocrace.BOCRacePlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.entity.Boat;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Start pipeline for one multiplayer race
+ * Pre-spawns idle boats at the mpboatSpawns during the lobby, mounts players under a per-tick budget,
+ * and runs one shared countdown once everyone is seated
+ */
+public class MultiplayerStartSequence {
+
+    private final BOCRacePlugin plugin;
+    private final MultiplayerRace race;
+    private final Runnable onGo;
+
+    // Spawn index -> pre-spawned idle boat
+    private final Map<Integer, Boat> prewarmedBoats = new HashMap<>();
+    private final Deque<Integer> pendingSpawns = new ArrayDeque<>();
+    private final Deque<UUID> pendingMounts = new ArrayDeque<>();
+
+    private final int actionsPerTick;
+    private final int countdownSeconds;
+
+    private BukkitTask task;
+    private boolean countdownRequested = false;
+    private int countdownTicks = -1;
+
+    public MultiplayerStartSequence(BOCRacePlugin plugin, MultiplayerRace race, Runnable onGo) {
+        this.plugin = plugin;
+        this.race = race;
+        this.onGo = onGo;
+        this.actionsPerTick = plugin.getConfigManager().getSettings().getStartMountsPerTick();
+        this.countdownSeconds = plugin.getConfigManager().getSettings().getStartCountdownSeconds();
+    }
+
+    /**
+     * Begin pre-spawning boats for every spawn point
+     */
+    public void start() {
+        if (plugin.getConfigManager().getSettings().isStartPrewarmBoats()) {
+            List<Location> spawns = race.getCourse().getMpboatSpawns();
+            for (int i = 0; i < spawns.size(); i++) {
+                pendingSpawns.add(i);
+            }
+        }
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+        plugin.multiplayerDebugLog("Start sequence for " + race.getRaceId() + " - pre-spawning " +
+                                   pendingSpawns.size() + " boats, " + actionsPerTick + " per tick");
+    }
+
+    /**
+     * Queue a player to be seated in their boat
+     */
+    public void queueMount(UUID playerId) {
+        pendingMounts.add(playerId);
+    }
+
+    /**
+     * Start the shared countdown as soon as every queued player is seated
+     */
+    public void requestCountdown() {
+        countdownRequested = true;
+    }
+
+    public boolean isCountingDown() {
+        return countdownTicks >= 0;
+    }
+
+    /**
+     * Stop the pipeline and remove any boats nobody was given
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pendingSpawns.clear();
+        pendingMounts.clear();
+        removeUnusedBoats();
+    }
+
+    private void tick() {
+        // Mounts first (players are waiting), then pre-spawns with what's left of the budget
+        int budget = actionsPerTick;
+        while (budget > 0 && !pendingMounts.isEmpty()) {
+            mount(pendingMounts.poll());
+            budget--;
+        }
+        while (budget > 0 && !pendingSpawns.isEmpty()) {
+            prewarm(pendingSpawns.poll());
+            budget--;
+        }
+
+        if (countdownRequested && pendingMounts.isEmpty()) {
+            tickCountdown();
+        }
+    }
+
+    private void prewarm(int spawnIndex) {
+        Boat existing = prewarmedBoats.get(spawnIndex);
+        if (existing != null && existing.isValid()) return;
+
+        Location spawn = race.getCourse().getMpboatSpawn(spawnIndex);
+        if (spawn == null || spawn.getWorld() == null) return;
+
+        Boat boat = plugin.getBoatManager().spawnIdleRaceBoat(spawn, race.getCourse().getName());
+        if (boat != null) {
+            prewarmedBoats.put(spawnIndex, boat);
+        }
+    }
+
+    private void mount(UUID playerId) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null || plugin.getMultiplayerRaceManager().getRaceByPlayer(playerId) != race) {
+            return; // Left or disconnected while queued
+        }
+
+        Integer spawnIndex = race.getPlayerBoatSpawnIndex(playerId);
+        Location spawn = race.getPlayerBoatSpawn(playerId);
+        if (spawnIndex == null || spawn == null) return;
+
+        Boat boat = prewarmedBoats.remove(spawnIndex);
+        pendingSpawns.remove(spawnIndex);
+        if (boat != null && boat.isValid()) {
+            plugin.getBoatManager().assignRaceBoat(boat, player);
+        } else {
+            // Not pre-spawned yet (or prewarm disabled) - spawn directly
+            plugin.getBoatManager().spawnRaceBoat(player, spawn);
+        }
+    }
+
+    private void tickCountdown() {
+        if (countdownTicks < 0) {
+            countdownTicks = countdownSeconds * 20;
+            removeUnusedBoats(); // Nobody else can join now
+        }
+
+        if (countdownTicks % 20 == 0) {
+            int secondsLeft = countdownTicks / 20;
+            for (UUID playerId : race.getPlayers().keySet()) {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player == null) continue;
+
+                if (secondsLeft > 0) {
+                    showCountdown(player, Component.text(secondsLeft, NamedTextColor.YELLOW), 1.0f);
+                } else {
+                    showCountdown(player, Component.text("GO!", NamedTextColor.GREEN), 2.0f);
+                }
+            }
+        }
+
+        if (countdownTicks == 0) {
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+            onGo.run();
+            return;
+        }
+        countdownTicks--;
+    }
+
+    private void showCountdown(Player player, Component text, float pitch) {
+        player.showTitle(Title.title(text, Component.empty(),
+                Title.Times.times(Duration.ZERO, Duration.ofMillis(900), Duration.ofMillis(100))));
+        if (race.getCourse().areSoundsEnabled(plugin)) {
+            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, pitch);
+        }
+    }
+
+    private void removeUnusedBoats() {
+        for (Boat boat : prewarmedBoats.values()) {
+            plugin.getBoatManager().removeRaceBoat(boat, "unused_prewarm");
+        }
+        prewarmedBoats.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package com.bocrace.race;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.listener.RaceLineListener;
+import org.bukkit.Location;
+import org.bukkit.entity.Boat;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tick-batched alternative to VehicleMoveEvent (race-detection.mode: "tick")
+ * Once per tick, walks only the current racers' boats in a flat array and feeds
+ * position deltas from its own previous-position buffer into RaceLineListener
+ */
+public class RaceBoatSweepTask {
+
+    private final BOCRacePlugin plugin;
+    private final RaceLineListener raceLineListener;
+
+    // Racer UUID -> pooled context (keeps previous position across ticks)
+    private final Map<UUID, SweepContext> contexts = new HashMap<>();
+
+    // Flat array of this tick's contexts (reused between ticks)
+    private SweepContext[] sweep = new SweepContext[16];
+    private int sweepSize = 0;
+    private long pass = 0;
+
+    private BukkitTask task;
+
+    public RaceBoatSweepTask(BOCRacePlugin plugin, RaceLineListener raceLineListener) {
+        this.plugin = plugin;
+        this.raceLineListener = raceLineListener;
+    }
+
+    public void start() {
+        stop();
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                sweep();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+        plugin.raceDebugLog("🔁 Race boat sweep started (tick mode)");
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+            plugin.raceDebugLog("🔁 Race boat sweep stopped");
+        }
+        contexts.clear();
+        Arrays.fill(sweep, null);
+        sweepSize = 0;
+    }
+
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * One tick: collect racers, then run detection over the flat array
+     */
+    private void sweep() {
+        pass++;
+        sweepSize = 0;
+
+        // Singleplayer racers (armed or running)
+        for (ActiveRace race : plugin.getRaceManager().getActiveRaceValues()) {
+            if (race.getState() == ActiveRace.State.ARMED || race.getState() == ActiveRace.State.RUNNING) {
+                collect(race.getPlayerUuid());
+            }
+        }
+
+        // Multiplayer racers still on course
+        for (MultiplayerRace race : plugin.getMultiplayerRaceManager().getActiveRaceValues()) {
+            if (race.getState() != MultiplayerRace.State.RUNNING) continue;
+            for (MultiplayerRace.PlayerResult result : race.getPlayers().values()) {
+                if (!result.isFinished() && !result.isDisqualified()) {
+                    collect(result.getPlayerId());
+                }
+            }
+        }
+
+        // Tight loop over race contexts
+        for (int i = 0; i < sweepSize; i++) {
+            SweepContext context = sweep[i];
+            Boat boat = context.boat;
+            if (boat == null || !boat.isValid()) {
+                context.hasPrevious = false;
+                continue;
+            }
+
+            boat.getLocation(context.current);
+            if (context.hasPrevious && context.current.getWorld() == context.previous.getWorld()
+                    && !samePosition(context.previous, context.current)) {
+                raceLineListener.processBoatMove(boat, context.previous, context.current);
+            }
+
+            // Swap buffers so the next tick compares against this position
+            Location swap = context.previous;
+            context.previous = context.current;
+            context.current = swap;
+            context.hasPrevious = true;
+        }
+
+        // Forget racers that were not collected this tick
+        if (contexts.size() > sweepSize) {
+            long currentPass = pass;
+            contexts.values().removeIf(context -> context.pass != currentPass);
+        }
+        for (int i = 0; i < sweepSize; i++) {
+            sweep[i].boat = null; // Don't pin entities between ticks
+        }
+    }
+
+    /**
+     * Add a racer's boat to this tick's flat array
+     */
+    private void collect(UUID playerId) {
+        Boat vehicle = plugin.getBoatManager().findRaceBoatByPlayer(playerId);
+        if (vehicle == null) return;
+
+        SweepContext context = contexts.get(playerId);
+        if (context == null) {
+            context = new SweepContext();
+            contexts.put(playerId, context);
+        }
+        if (context.boatId != null && !context.boatId.equals(vehicle.getUniqueId())) {
+            context.hasPrevious = false; // New boat - no valid previous position
+        }
+        context.boatId = vehicle.getUniqueId();
+        context.boat = vehicle;
+        context.pass = pass;
+
+        if (sweepSize == sweep.length) {
+            sweep = Arrays.copyOf(sweep, sweep.length * 2);
+        }
+        sweep[sweepSize++] = context;
+    }
+
+    private static boolean samePosition(Location a, Location b) {
+        return a.getX() == b.getX() && a.getY() == b.getY() && a.getZ() == b.getZ();
+    }
+
+    /**
+     * Per-racer sweep state with a double-buffered position
+     */
+    private static final class SweepContext {
+        private UUID boatId;
+        private Boat boat;
+        private Location previous = new Location(null, 0, 0, 0);
+        private Location current = new Location(null, 0, 0, 0);
+        private boolean hasPrevious = false;
+        private long pass;
+    }
+}
@@ -0,0 +1,161 @@
+package com.bocrace.race;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.config.PluginSettings;
+import com.bocrace.util.TimeFormat;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single repeating task that drives the live race timer (action bar) for all racers
+ * Runs at timer.update-interval and only sends a packet when the displayed text changes
+ */
+public class RaceHudTask {
+
+    private final BOCRacePlugin plugin;
+
+    // Last text sent to each racer, stamped with the pass that last saw them
+    private final Map<UUID, HudEntry> lastSent = new ConcurrentHashMap<>();
+
+    private BukkitTask task;
+    private int baseIntervalTicks = 2;
+    private int degradeThreshold = 20;
+    private int effectiveIntervalTicks = 2;
+    private int ticksSinceUpdate = 0;
+    private long pass = 0;
+
+    public RaceHudTask(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Read timer settings (called on start and on /bocrace reload)
+     */
+    public void reloadSettings() {
+        PluginSettings settings = plugin.getConfigManager().getSettings();
+        this.baseIntervalTicks = (int) Math.max(1, Math.round(settings.getTimerUpdateIntervalMs() / 50.0)); // 50ms per tick
+        this.degradeThreshold = settings.getTimerDegradeThreshold();
+        this.effectiveIntervalTicks = baseIntervalTicks;
+        plugin.raceDebugLog("⏱️ Race HUD interval: " + baseIntervalTicks + " ticks, degrade threshold: " + degradeThreshold + " racers");
+    }
+
+    /**
+     * Start the HUD task
+     */
+    public void start() {
+        stop();
+        reloadSettings();
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (++ticksSinceUpdate < effectiveIntervalTicks) return;
+                ticksSinceUpdate = 0;
+                update();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Stop the HUD task and forget sent text
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        lastSent.clear();
+    }
+
+    /**
+     * Walk all running races and refresh racers whose display text changed
+     */
+    private void update() {
+        pass++;
+        int racers = 0;
+
+        // Singleplayer races
+        for (ActiveRace race : plugin.getRaceManager().getActiveRaceValues()) {
+            if (race.getState() != ActiveRace.State.RUNNING) continue;
+            racers++;
+            Player player = Bukkit.getPlayer(race.getPlayerUuid());
+            if (player == null) continue;
+
+            String timerText = race.getFormattedCurrentTime();
+            if (markChanged(race.getPlayerUuid(), timerText)) {
+                player.sendActionBar(Component.text(timerText, NamedTextColor.AQUA));
+            }
+        }
+
+        // Multiplayer races
+        for (MultiplayerRace race : plugin.getMultiplayerRaceManager().getActiveRaceValues()) {
+            if (race.getState() != MultiplayerRace.State.RUNNING) continue;
+            long raceTimeMs = System.currentTimeMillis() - race.getRaceStartTimeMs();
+
+            for (MultiplayerRace.PlayerResult result : race.getPlayers().values()) {
+                // Don't show timer until player crosses start line
+                if (!result.isTimerStarted() || result.isFinished() || result.isDisqualified()) continue;
+                racers++;
+                Player player = Bukkit.getPlayer(result.getPlayerId());
+                if (player == null) continue;
+
+                String timeDisplay = formatMultiplayerTime(raceTimeMs);
+                if (markChanged(result.getPlayerId(), timeDisplay)) {
+                    player.sendActionBar(timeDisplay);
+                }
+            }
+        }
+
+        // Forget racers that were not seen this pass
+        if (!lastSent.isEmpty()) {
+            long currentPass = pass;
+            lastSent.values().removeIf(entry -> entry.pass != currentPass);
+        }
+
+        // Degrade refresh rate as the number of racers grows
+        effectiveIntervalTicks = baseIntervalTicks * (1 + racers / degradeThreshold);
+    }
+
+    /**
+     * Record the text for a racer, returns true if it differs from what was last sent
+     */
+    private boolean markChanged(UUID playerId, String text) {
+        HudEntry entry = lastSent.get(playerId);
+        if (entry == null) {
+            lastSent.put(playerId, new HudEntry(text, pass));
+            return true;
+        }
+        entry.pass = pass;
+        if (text.equals(entry.text)) return false;
+        entry.text = text;
+        return true;
+    }
+
+    private String formatMultiplayerTime(long raceTimeMs) {
+        return TimeFormat.split("§6⏱ ", raceTimeMs);
+    }
+
+    /**
+     * Get the current refresh interval in ticks (after degradation)
+     */
+    public int getEffectiveIntervalTicks() {
+        return effectiveIntervalTicks;
+    }
+
+    private static class HudEntry {
+        private String text;
+        private long pass;
+
+        HudEntry(String text, long pass) {
+            this.text = text;
+            this.pass = pass;
+        }
+    }
+}
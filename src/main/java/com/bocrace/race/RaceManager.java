@@ -3,9 +3,12 @@ package com.bocrace.race;
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
 import com.bocrace.model.CourseType;
+import com.bocrace.util.TeleportUtil;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -100,10 +103,15 @@ public class RaceManager {
         // Create new active race with safety location
         Location safeLocation = player.getLocation().clone();
         ActiveRace race = new ActiveRace(player.getUniqueId(), player.getName(), course.getName(), course.getType(), safeLocation);
+        race.setPreRaceLocationSafe(TeleportUtil.isSafeLocation(safeLocation)); // Probe once now, not during emergency teleports
         
         // Register the race
         activeRaces.put(player.getUniqueId(), race);
         courseOccupancy.put(course.getName(), player.getUniqueId());
+        plugin.getPlayerPlaceholderCache().invalidate(player.getUniqueId());
+        
+        // Start loading the course route while the racer lines up at the start
+        plugin.getCourseChunkManager().acquire(course);
         
         plugin.debugLog("Race started successfully: " + race);
         return race;
@@ -119,6 +127,8 @@ public class RaceManager {
         plugin.debugLog("Ending race for " + race.getPlayerName() + " with state " + endState + 
                        (reason != null ? " - " + reason : ""));
         
+        boolean wasActive = race.getState() == ActiveRace.State.ARMED || race.getState() == ActiveRace.State.RUNNING;
+        
         // Update race state
         race.setState(endState);
         race.setEndNanoTime(System.nanoTime());
@@ -129,6 +139,10 @@ public class RaceManager {
         
         // Free up the course
         courseOccupancy.remove(race.getCourseName());
+        plugin.getPlayerPlaceholderCache().invalidate(playerUuid);
+        if (wasActive) {
+            plugin.getCourseChunkManager().release(race.getCourseName());
+        }
         
         // Keep the race record for a short time for stats/cleanup, but don't remove immediately
         // It will be cleaned up by the cleanup task or when player starts a new race
@@ -203,6 +217,13 @@ public class RaceManager {
         return new ConcurrentHashMap<>(activeRaces);
     }
     
+    /**
+     * Live read-only view of all tracked races (no copy, for per-tick tasks)
+     */
+    public Collection<ActiveRace> getActiveRaceValues() {
+        return Collections.unmodifiableCollection(activeRaces.values());
+    }
+    
     /**
      * Get all occupied courses (for debugging/admin purposes)
      */
@@ -0,0 +1,192 @@
+package com.bocrace.storage;
+
+import com.bocrace.model.Course;
+import com.bocrace.model.CourseType;
+import com.bocrace.util.BlockKey;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of every course button: world -> packed block position -> (course, button role)
+ * A click resolves with a single map probe no matter how many courses exist
+ */
+public class ButtonIndex {
+
+    public enum Role {
+        SP_START_LEGACY,
+        SP_MAIN_LOBBY,
+        SP_COURSE_LOBBY,
+        SP_RETURN,
+        MP_CREATE,
+        MP_JOIN,
+        MP_START,
+        MP_CANCEL,
+        MP_RETURN;
+
+        public boolean isMultiplayer() {
+            return ordinal() >= MP_CREATE.ordinal();
+        }
+    }
+
+    public static final class Entry {
+        private final String courseName;
+        private final Role role;
+
+        Entry(String courseName, Role role) {
+            this.courseName = courseName;
+            this.role = role;
+        }
+
+        public String getCourseName() {
+            return courseName;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+    }
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    // Stored button locations may sit one block off the clicked block (button face), so each
+    // button is indexed at y-1, y and y+1 - the same tolerance the old per-course comparison used
+    private static final int Y_TOLERANCE = 1;
+
+    private final Map<UUID, Map<Long, Entry[]>> worlds = new ConcurrentHashMap<>();
+
+    // Course name -> positions currently indexed for it (so edits can unindex the old ones)
+    private final Map<String, IndexedKey[]> indexedCourses = new ConcurrentHashMap<>();
+
+    /**
+     * Replace all buttons indexed for a course
+     */
+    public synchronized void put(Course course) {
+        remove(course.getName());
+
+        List<IndexedKey> keys = new ArrayList<>();
+        if (course.getType() == CourseType.SINGLEPLAYER) {
+            add(keys, course.getName(), Role.SP_START_LEGACY, course.getSpstartbutton());
+            add(keys, course.getName(), Role.SP_MAIN_LOBBY, course.getSpmainlobbybutton());
+            add(keys, course.getName(), Role.SP_COURSE_LOBBY, course.getSpcourselobbybutton());
+            add(keys, course.getName(), Role.SP_RETURN, course.getSpreturn());
+        } else {
+            add(keys, course.getName(), Role.MP_CREATE, course.getMpcreateRaceButton());
+            add(keys, course.getName(), Role.MP_JOIN, course.getMpjoinRaceButton());
+            add(keys, course.getName(), Role.MP_START, course.getMpstartRaceButton());
+            add(keys, course.getName(), Role.MP_CANCEL, course.getMpcancelRaceButton());
+            add(keys, course.getName(), Role.MP_RETURN, course.getMpreturnButton());
+        }
+        if (!keys.isEmpty()) {
+            indexedCourses.put(course.getName(), keys.toArray(new IndexedKey[0]));
+        }
+    }
+
+    /**
+     * Remove all buttons indexed for a course
+     */
+    public synchronized void remove(String courseName) {
+        IndexedKey[] keys = indexedCourses.remove(courseName);
+        if (keys == null) return;
+
+        for (IndexedKey indexed : keys) {
+            Map<Long, Entry[]> blocks = worlds.get(indexed.worldId);
+            if (blocks == null) continue;
+            Entry[] existing = blocks.get(indexed.key);
+            if (existing == null) continue;
+            Entry[] updated = Arrays.stream(existing)
+                    .filter(entry -> entry != indexed.entry)
+                    .toArray(Entry[]::new);
+            if (updated.length == 0) {
+                blocks.remove(indexed.key);
+            } else {
+                blocks.put(indexed.key, updated);
+            }
+        }
+    }
+
+    /**
+     * Drop everything (used before a full course reload)
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        indexedCourses.clear();
+    }
+
+    /**
+     * All buttons at a block (never null, do not modify)
+     */
+    public Entry[] lookup(Block block) {
+        Map<Long, Entry[]> blocks = worlds.get(block.getWorld().getUID());
+        if (blocks == null) return EMPTY;
+        Entry[] entries = blocks.get(BlockKey.of(block));
+        return entries != null ? entries : EMPTY;
+    }
+
+    /**
+     * First button at a block with one of the given roles, or null
+     */
+    public Entry find(Block block, Role... roles) {
+        for (Entry entry : lookup(block)) {
+            for (Role role : roles) {
+                if (entry.role == role) return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First multiplayer button at a block, or null
+     */
+    public Entry findMultiplayer(Block block) {
+        for (Entry entry : lookup(block)) {
+            if (entry.role.isMultiplayer()) return entry;
+        }
+        return null;
+    }
+
+    public int getIndexedCourseCount() {
+        return indexedCourses.size();
+    }
+
+    private void add(List<IndexedKey> keys, String courseName, Role role, Location location) {
+        if (location == null || location.getWorld() == null) return;
+
+        UUID worldId = location.getWorld().getUID();
+        Map<Long, Entry[]> blocks = worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>());
+        Entry entry = new Entry(courseName, role);
+        for (int dy = -Y_TOLERANCE; dy <= Y_TOLERANCE; dy++) {
+            long key = BlockKey.pack(location.getBlockX(), location.getBlockY() + dy, location.getBlockZ());
+            Entry[] existing = blocks.getOrDefault(key, EMPTY);
+            Entry[] updated = new Entry[existing.length + 1];
+            if (dy == 0) {
+                // Exact matches go first so stacked buttons resolve to the one actually clicked
+                updated[0] = entry;
+                System.arraycopy(existing, 0, updated, 1, existing.length);
+            } else {
+                System.arraycopy(existing, 0, updated, 0, existing.length);
+                updated[existing.length] = entry;
+            }
+            blocks.put(key, updated);
+            keys.add(new IndexedKey(worldId, key, entry));
+        }
+    }
+
+    private static final class IndexedKey {
+        private final UUID worldId;
+        private final long key;
+        private final Entry entry;
+
+        IndexedKey(UUID worldId, long key, Entry entry) {
+            this.worldId = worldId;
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bocrace.storage;
+
+import com.bocrace.model.Period;
+import com.bocrace.model.RaceRecord;
+
+import java.util.List;
+
+/**
+ * Push notifications from the record store, fired after a save (or reset) has been written
+ * Callbacks run on the main thread and should stay cheap - boards that weren't already cached
+ * (and period boards) are compared off the main thread, so their events can arrive a few ticks later
+ * Changes are only reported against rows the store already knew for the course's current data version -
+ * when the previous rows aren't known the new board just becomes the baseline and no event fires
+ */
+public interface RecordListener {
+
+    /** Number of leaderboard rows compared for onLeaderboardChanged */
+    int TOP_N = 10;
+
+    /**
+     * A course's top-N changed
+     * @param course Course name
+     * @param period Period board that changed, or null for the all-time board
+     * @param oldTop Rows before the save (best first, at most TOP_N) - never guessed, the event is suppressed if unknown
+     * @param newTop Rows after the save (best first, at most TOP_N)
+     */
+    default void onLeaderboardChanged(String course, Period period, List<RaceRecord> oldTop, List<RaceRecord> newTop) {
+    }
+
+    /**
+     * A player set a new personal best on a course
+     * @param player Player name
+     * @param course Course name
+     * @param oldBest Previous best, or null if this is the player's first finish (suppressed if the previous best is unknown)
+     * @param newBest New best
+     */
+    default void onPersonalBestChanged(String player, String course, RaceRecord oldBest, RaceRecord newBest) {
+    }
+
+    /**
+     * Records were reset in bulk
+     * @param course Course name, or null if every course was reset
+     */
+    default void onRecordsReset(String course) {
+    }
+
+    /**
+     * Whether this listener wants period (daily/weekly/monthly) board events - when no listener does,
+     * saves skip loading and comparing the period boards entirely
+     */
+    default boolean wantsPeriodEvents() {
+        return true;
+    }
+}
@@ -94,6 +94,26 @@ public interface RecordManager {
      */
     String getPlayerFavoriteCourse(String player);
     
+    /**
+     * Version counter for a course's leaderboard data
+     * Changes whenever records for the course are saved or reset, so caches can poll it cheaply
+     * @param course Course name
+     * @return Current version (only compare for equality)
+     */
+    long getCourseDataVersion(String course);
+    
+    /**
+     * Register a listener for leaderboard and personal best changes
+     * @param listener Listener to notify after saves and resets
+     */
+    void addRecordListener(RecordListener listener);
+    
+    /**
+     * Unregister a record listener
+     * @param listener Listener to remove
+     */
+    void removeRecordListener(RecordListener listener);
+    
     /**
      * Reset all race records for a specific course
      * @param courseName Course name to reset
@@ -1,8 +1,11 @@
 package com.bocrace.storage;
 
 import com.bocrace.BOCRacePlugin;
+import com.bocrace.model.Checkpoint;
 import com.bocrace.model.Course;
 import com.bocrace.model.CourseType;
+import com.bocrace.util.SafeLocationCache;
+import com.bocrace.util.TriggerVolume;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -23,18 +26,37 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class StorageManager {
     
+    private static final TriggerVolume[] NO_VOLUMES = new TriggerVolume[0];
+    public static final int MAX_CHECKPOINTS = 20;
+    
     private final BOCRacePlugin plugin;
     private final Map<String, Course> courses;
+    private final Map<String, TriggerVolume[]> courseVolumes; // courseName -> compiled start/finish/checkpoint volumes
+    private final Map<String, TriggerVolume[]> courseCheckpoints; // courseName -> checkpoint volumes in race order
+    private final TriggerVolumeIndex triggerIndex; // world -> chunk -> volumes, for location queries
+    private final SafeLocationCache safeLocationCache; // validated lobby landing spots per course
+    private final ButtonIndex buttonIndex; // world -> block -> course buttons, for click lookups
+    private volatile int volumeVersion = 0; // Bumped whenever any course volume changes
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     public StorageManager(BOCRacePlugin plugin) {
         this.plugin = plugin;
         this.courses = new ConcurrentHashMap<>();
+        this.courseVolumes = new ConcurrentHashMap<>();
+        this.courseCheckpoints = new ConcurrentHashMap<>();
+        this.triggerIndex = new TriggerVolumeIndex();
+        this.safeLocationCache = new SafeLocationCache(plugin);
+        this.buttonIndex = new ButtonIndex();
     }
     
     public void loadCourses() {
         plugin.debugDataLog("Starting course reload - clearing " + courses.size() + " courses from memory");
         courses.clear();
+        courseVolumes.clear();
+        courseCheckpoints.clear();
+        triggerIndex.clear();
+        safeLocationCache.clear();
+        buttonIndex.clear();
         
         // Create courses directory structure
         createCoursesDirectoryStructure();
@@ -45,12 +67,21 @@ public class StorageManager {
         // Load multiplayer courses
         loadCoursesFromFolder("courses/multiplayer", CourseType.MULTIPLAYER);
         
+        // Compile trigger volumes for line detection
+        for (Course course : courses.values()) {
+            compileVolumes(course);
+            safeLocationCache.revalidate(course);
+            buttonIndex.put(course);
+        }
+        volumeVersion++;
+        
         if (courses.isEmpty()) {
             plugin.getLogger().info("No courses found in courses/singleplayer/ or courses/multiplayer/");
             plugin.debugDataLog("Course reload complete - 0 courses loaded");
         } else {
             plugin.getLogger().info("Loaded " + courses.size() + " courses");
             plugin.debugDataLog("Course reload complete - " + courses.size() + " courses loaded: " + String.join(", ", courses.keySet()));
+            plugin.debugDataLog("Trigger index covers " + triggerIndex.getIndexedChunkCount() + " chunks");
         }
     }
     
@@ -211,6 +242,23 @@ public class StorageManager {
             course.setSpfinish2(readLocation(config.getConfigurationSection("spfinish2"), world));
         }
         
+        // Load ordered checkpoints (shared by both course types)
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        for (int i = 1; i <= MAX_CHECKPOINTS; i++) {
+            Location point1 = readLocation(config.getConfigurationSection("checkpoints." + i + ".point1"), world);
+            Location point2 = readLocation(config.getConfigurationSection("checkpoints." + i + ".point2"), world);
+            checkpoints.add(new Checkpoint(point1, point2));
+        }
+        // Drop unused trailing slots (gaps in the middle are kept so numbering stays stable)
+        while (!checkpoints.isEmpty() && checkpoints.get(checkpoints.size() - 1).getPoint1() == null
+                && checkpoints.get(checkpoints.size() - 1).getPoint2() == null) {
+            checkpoints.remove(checkpoints.size() - 1);
+        }
+        course.setCheckpoints(checkpoints);
+        
+        // Load leaderboard display anchor (shared by both course types)
+        course.setLeaderboardDisplay(readLocation(config.getConfigurationSection("leaderboardDisplay"), world));
+        
         // Load usage tracking
         course.setUsageCount(config.getInt("usageCount", 0));
         if (config.contains("lastUsed")) {
@@ -277,7 +325,31 @@ public class StorageManager {
         return course;
     }
     
+    /**
+     * Save a course after a setup edit - its trigger volumes, safe spots and buttons are rebuilt
+     */
     public void saveCourse(Course course) {
+        if (!writeCourseFile(course)) return;
+        
+        // Course locations may have changed - recompile its trigger volumes
+        compileVolumes(course);
+        volumeVersion++;
+        safeLocationCache.revalidate(course);
+        buttonIndex.put(course);
+        
+        plugin.getLogger().info("Saved course: " + course.getDisplayName());
+    }
+    
+    /**
+     * Save a course whose usage stats changed (race start) - locations are untouched, so nothing is rebuilt
+     */
+    public void saveCourseUsage(Course course) {
+        if (writeCourseFile(course)) {
+            plugin.debugDataLog("Saved usage for course: " + course.getName() + " (" + course.getUsageCount() + " uses)");
+        }
+    }
+    
+    private boolean writeCourseFile(Course course) {
         try {
             String folderName = course.getType() == CourseType.SINGLEPLAYER ? "courses/singleplayer" : "courses/multiplayer";
             File folder = new File(plugin.getDataFolder(), folderName);
@@ -366,6 +438,18 @@ public class StorageManager {
                 writeLocation(config, "spfinish2", course.getSpfinish2());
             }
             
+            // Save ordered checkpoints
+            if (course.getCheckpoints() != null) {
+                for (int i = 0; i < course.getCheckpoints().size() && i < MAX_CHECKPOINTS; i++) {
+                    Checkpoint checkpoint = course.getCheckpoints().get(i);
+                    writeLocation(config, "checkpoints." + (i + 1) + ".point1", checkpoint.getPoint1());
+                    writeLocation(config, "checkpoints." + (i + 1) + ".point2", checkpoint.getPoint2());
+                }
+            }
+            
+            // Save leaderboard display anchor
+            writeLocation(config, "leaderboardDisplay", course.getLeaderboardDisplay());
+            
             // Save usage tracking
             config.set("usageCount", course.getUsageCount());
             if (course.getLastUsed() != null) {
@@ -411,11 +495,12 @@ public class StorageManager {
             }
             
             config.save(file);
-            plugin.getLogger().info("Saved course: " + course.getDisplayName());
             plugin.debugDataLog("Course saved to: " + file.getAbsolutePath());
+            return true;
             
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to save course " + course.getName() + ": " + e.getMessage());
+            return false;
         }
     }
     
@@ -447,6 +532,10 @@ public class StorageManager {
     
     public void addCourse(Course course) {
         courses.put(course.getName(), course);
+        compileVolumes(course);
+        volumeVersion++;
+        safeLocationCache.revalidate(course);
+        buttonIndex.put(course);
     }
     
     public void removeCourse(String name) {
@@ -467,9 +556,67 @@ public class StorageManager {
         
         // Remove from memory
         courses.remove(name);
+        courseVolumes.remove(name);
+        courseCheckpoints.remove(name);
+        triggerIndex.remove(name);
+        safeLocationCache.remove(name);
+        buttonIndex.remove(name);
+        volumeVersion++;
         plugin.debugDataLog("Course removed from memory: " + name);
     }
     
+    /**
+     * Get the compiled trigger volumes for a course (empty if none are set)
+     */
+    public TriggerVolume[] getCourseVolumes(String courseName) {
+        TriggerVolume[] volumes = courseVolumes.get(courseName);
+        return volumes != null ? volumes : NO_VOLUMES;
+    }
+    
+    /**
+     * Get the compiled checkpoint volumes for a course, in the order racers must pass them
+     */
+    public TriggerVolume[] getCheckpointVolumes(String courseName) {
+        TriggerVolume[] volumes = courseCheckpoints.get(courseName);
+        return volumes != null ? volumes : NO_VOLUMES;
+    }
+    
+    /**
+     * Chunk-keyed index of all course trigger volumes
+     */
+    public TriggerVolumeIndex getTriggerIndex() {
+        return triggerIndex;
+    }
+    
+    /**
+     * Validated lobby landing spots for teleports
+     */
+    public SafeLocationCache getSafeLocationCache() {
+        return safeLocationCache;
+    }
+    
+    /**
+     * Block-keyed index of all course buttons
+     */
+    public ButtonIndex getButtonIndex() {
+        return buttonIndex;
+    }
+    
+    /**
+     * Version counter for compiled trigger volumes, changes on any course load/save/delete
+     */
+    public int getVolumeVersion() {
+        return volumeVersion;
+    }
+    
+    private void compileVolumes(Course course) {
+        TriggerVolume[] volumes = TriggerVolume.compile(course);
+        courseVolumes.put(course.getName(), volumes);
+        courseCheckpoints.put(course.getName(), TriggerVolume.compileCheckpoints(course));
+        triggerIndex.put(course.getName(), volumes);
+        plugin.debugDataLog("Compiled " + volumes.length + " trigger volumes for course: " + course.getName());
+    }
+    
     // Helper methods for Location serialization
     private Location readLocation(ConfigurationSection section, World defaultWorld) {
         if (section == null) return null;
@@ -0,0 +1,112 @@
+package com.bocrace.storage;
+
+import com.bocrace.util.TriggerVolume;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial index of every course trigger volume: world -> chunk key -> volumes
+ * Reads are lock-free map lookups returning shared arrays (no allocation), writes (course load/save/delete)
+ * rebuild the affected chunk arrays. Racers check their own course's volumes via StorageManager instead
+ */
+public class TriggerVolumeIndex {
+
+    private static final TriggerVolume[] EMPTY = new TriggerVolume[0];
+
+    private final Map<UUID, Map<Long, TriggerVolume[]>> worlds = new ConcurrentHashMap<>();
+
+    // Course name -> volumes currently indexed for it (so edits can unindex the old ones)
+    private final Map<String, TriggerVolume[]> indexedCourses = new ConcurrentHashMap<>();
+
+    /**
+     * Replace all volumes indexed for a course
+     */
+    public synchronized void put(String courseName, TriggerVolume[] volumes) {
+        remove(courseName);
+        if (volumes == null || volumes.length == 0) return;
+
+        indexedCourses.put(courseName, volumes);
+        for (TriggerVolume volume : volumes) {
+            Map<Long, TriggerVolume[]> chunks = worlds.computeIfAbsent(volume.getWorldId(), id -> new ConcurrentHashMap<>());
+            forEachChunk(volume, key -> {
+                TriggerVolume[] existing = chunks.getOrDefault(key, EMPTY);
+                TriggerVolume[] updated = Arrays.copyOf(existing, existing.length + 1);
+                updated[existing.length] = volume;
+                chunks.put(key, updated);
+            });
+        }
+    }
+
+    /**
+     * Remove all volumes indexed for a course
+     */
+    public synchronized void remove(String courseName) {
+        TriggerVolume[] volumes = indexedCourses.remove(courseName);
+        if (volumes == null) return;
+
+        for (TriggerVolume volume : volumes) {
+            Map<Long, TriggerVolume[]> chunks = worlds.get(volume.getWorldId());
+            if (chunks == null) continue;
+            forEachChunk(volume, key -> {
+                TriggerVolume[] existing = chunks.get(key);
+                if (existing == null) return;
+                TriggerVolume[] updated = Arrays.stream(existing)
+                        .filter(v -> v != volume)
+                        .toArray(TriggerVolume[]::new);
+                if (updated.length == 0) {
+                    chunks.remove(key);
+                } else {
+                    chunks.put(key, updated);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop everything (used before a full course reload)
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        indexedCourses.clear();
+    }
+
+    /**
+     * All volumes overlapping a chunk (never null, do not modify)
+     */
+    public TriggerVolume[] getChunkVolumes(UUID worldId, int chunkX, int chunkZ) {
+        Map<Long, TriggerVolume[]> chunks = worlds.get(worldId);
+        if (chunks == null) return EMPTY;
+        TriggerVolume[] volumes = chunks.get(chunkKey(chunkX, chunkZ));
+        return volumes != null ? volumes : EMPTY;
+    }
+
+    /**
+     * Number of indexed chunks across all worlds (for debug output)
+     */
+    public int getIndexedChunkCount() {
+        int count = 0;
+        for (Map<Long, TriggerVolume[]> chunks : worlds.values()) {
+            count += chunks.size();
+        }
+        return count;
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xffffffffL) | (((long) chunkZ & 0xffffffffL) << 32);
+    }
+
+    private static void forEachChunk(TriggerVolume volume, java.util.function.LongConsumer action) {
+        int minChunkX = ((int) Math.floor(volume.getMinX())) >> 4;
+        int maxChunkX = ((int) Math.floor(volume.getMaxX())) >> 4;
+        int minChunkZ = ((int) Math.floor(volume.getMinZ())) >> 4;
+        int maxChunkZ = ((int) Math.floor(volume.getMaxZ())) >> 4;
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                action.accept(chunkKey(cx, cz));
+            }
+        }
+    }
+}
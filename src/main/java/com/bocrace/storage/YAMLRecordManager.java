@@ -5,6 +5,7 @@ import com.bocrace.model.RaceRecord;
 import com.bocrace.model.CourseType;
 import com.bocrace.model.Period;
 import com.bocrace.model.Course;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -14,6 +15,8 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -34,9 +37,16 @@ public class YAMLRecordManager implements RecordManager {
     private final File playerStatsFile;
     private final File playerRecentFile;
     
-    // In-memory cache for real-time hologram updates
-    private final Map<String, List<RaceRecord>> leaderboardCache = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> cacheTimestamps = new ConcurrentHashMap<>();
+    // In-memory cache for real-time hologram updates: full ranking per course/period, tagged with the data version it was built from
+    private final Map<String, CachedRanking> leaderboardCache = new ConcurrentHashMap<>();
+    
+    // Per-course data versions (bumped after every write) plus a global bump for full resets
+    private final Map<String, Long> courseDataVersions = new ConcurrentHashMap<>();
+    private volatile long globalDataVersion = 0;
+    
+    // Leaderboard/PB change listeners, plus the last top-N reported to them per course/period (same keys as leaderboardCache)
+    private final List<RecordListener> recordListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, PublishedTop> publishedTops = new ConcurrentHashMap<>();
     private static final long CACHE_DURATION = 300000; // 5 minutes
     
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -109,6 +119,26 @@ public class YAMLRecordManager implements RecordManager {
     
     @Override
     public void saveRaceRecord(String player, String course, double time, CourseType type, LocalDateTime date) {
+        // Boards as they were before this save, only captured when someone is listening
+        // Only rows already known for the current data version are used - nothing is read from disk here
+        boolean listening = !recordListeners.isEmpty();
+        List<RaceRecord> oldRanking = null;
+        List<RaceRecord> oldTop = null;
+        Map<Period, List<RaceRecord>> oldPeriodTops = null;
+        if (listening) {
+            oldRanking = peekRanking(course, null);
+            oldTop = knownTop(course, null);
+            if (wantsPeriodEvents()) {
+                oldPeriodTops = new EnumMap<>(Period.class);
+                for (Period period : Period.values()) {
+                    List<RaceRecord> periodTop = knownTop(course, period);
+                    if (periodTop != null) {
+                        oldPeriodTops.put(period, periodTop);
+                    }
+                }
+            }
+        }
+        
         try {
             plugin.debugDataLog("Saving race record: " + player + " - " + String.format("%.2f", time) + "s on " + course);
             
@@ -119,6 +149,7 @@ public class YAMLRecordManager implements RecordManager {
             Course courseConfig = getCourseConfig(course, type);
             if (courseConfig == null) {
                 plugin.getLogger().warning("Course config not found for " + course + " (" + type + ")");
+                bumpCourseDataVersion(course); // all_records.yml was still written
                 return;
             }
             
@@ -143,12 +174,16 @@ public class YAMLRecordManager implements RecordManager {
             updatePlayerStats(player, type);
             
             // 6. Clear cache for this course
-            String cacheKey = course + "_" + type.name();
-            leaderboardCache.remove(cacheKey);
-            cacheTimestamps.remove(cacheKey);
+            // Cached rankings for the course go stale with the version bump
+            bumpCourseDataVersion(course);
+            plugin.getPlayerPlaceholderCache().invalidate(player);
             
             plugin.debugDataLog("Race record saved successfully to clean structure");
             
+            if (listening) {
+                notifyRecordListeners(courseConfig, player, time, type, date, oldRanking, oldTop, oldPeriodTops);
+            }
+            
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to save race record: " + e.getMessage());
         }
@@ -575,6 +610,62 @@ public class YAMLRecordManager implements RecordManager {
     
     @Override
     public List<RaceRecord> getTopTimes(String course, int limit) {
+        return topOf(getRanking(course, null), limit);
+    }
+    
+    @Override
+    public List<RaceRecord> getTopTimesForPeriod(String course, Period period, int limit) {
+        return topOf(getRanking(course, period), limit);
+    }
+    
+    /**
+     * Full ranking for a course (all-time or one period), loaded once per course data version
+     * Every position, and every caller asking for a different limit, shares the same load
+     */
+    private List<RaceRecord> getRanking(String course, Period period) {
+        String cacheKey = course + "_" + (period != null ? period.name() : "ALL");
+        long version = getCourseDataVersion(course);
+        long now = System.currentTimeMillis();
+        
+        CachedRanking cached = leaderboardCache.get(cacheKey);
+        if (cached != null && cached.version == version && now - cached.loadedAt < CACHE_DURATION) {
+            return cached.ranking;
+        }
+        
+        List<RaceRecord> ranking = period != null ? loadPeriodRanking(course, period) : loadRanking(course);
+        leaderboardCache.put(cacheKey, new CachedRanking(version, now, ranking));
+        plugin.debugDataLog("Leaderboard ranking loaded: " + cacheKey + " (" + ranking.size() + " players)");
+        return ranking;
+    }
+    
+    /**
+     * Cached ranking if it is still current, null otherwise (never loads)
+     */
+    private List<RaceRecord> peekRanking(String course, Period period) {
+        CachedRanking cached = leaderboardCache.get(course + "_" + (period != null ? period.name() : "ALL"));
+        if (cached != null && cached.version == getCourseDataVersion(course)) {
+            return cached.ranking;
+        }
+        return null;
+    }
+    
+    /**
+     * Top-N as last reported to listeners (or cached) for the course's current data version, null if unknown
+     */
+    private List<RaceRecord> knownTop(String course, Period period) {
+        PublishedTop published = publishedTops.get(course + "_" + (period != null ? period.name() : "ALL"));
+        if (published != null && published.version == getCourseDataVersion(course)) {
+            return published.rows;
+        }
+        List<RaceRecord> ranking = peekRanking(course, period);
+        return ranking != null ? topOf(ranking, RecordListener.TOP_N) : null;
+    }
+    
+    private List<RaceRecord> topOf(List<RaceRecord> ranking, int limit) {
+        return new ArrayList<>(ranking.subList(0, Math.min(Math.max(limit, 0), ranking.size())));
+    }
+    
+    private List<RaceRecord> loadRanking(String course) {
         // Load from both singleplayer and multiplayer
         List<RaceRecord> allRecords = new ArrayList<>();
         
@@ -596,11 +687,10 @@ public class YAMLRecordManager implements RecordManager {
         List<RaceRecord> result = new ArrayList<>(bestTimes.values());
         result.sort(Comparator.comparing(RaceRecord::getTime));
         
-        return result.stream().limit(limit).collect(Collectors.toList());
+        return Collections.unmodifiableList(result);
     }
     
-    @Override
-    public List<RaceRecord> getTopTimesForPeriod(String course, Period period, int limit) {
+    private List<RaceRecord> loadPeriodRanking(String course, Period period) {
         List<RaceRecord> records = new ArrayList<>();
         
         // Load from both singleplayer and multiplayer
@@ -619,7 +709,7 @@ public class YAMLRecordManager implements RecordManager {
         List<RaceRecord> result = new ArrayList<>(bestTimes.values());
         result.sort(Comparator.comparing(RaceRecord::getTime));
         
-        return result.stream().limit(limit).collect(Collectors.toList());
+        return Collections.unmodifiableList(result);
     }
     
     /**
@@ -789,6 +879,179 @@ public class YAMLRecordManager implements RecordManager {
         return null;
     }
     
+    @Override
+    public long getCourseDataVersion(String course) {
+        return globalDataVersion + courseDataVersions.getOrDefault(course, 0L);
+    }
+    
+    private void bumpCourseDataVersion(String course) {
+        courseDataVersions.merge(course, 1L, Long::sum);
+    }
+    
+    @Override
+    public void addRecordListener(RecordListener listener) {
+        recordListeners.add(listener);
+    }
+    
+    @Override
+    public void removeRecordListener(RecordListener listener) {
+        recordListeners.remove(listener);
+    }
+    
+    /**
+     * Compare the boards before and after a save and fire only what actually changed
+     * The all-time board is derived in memory from the saved row when its ranking was cached (and the result
+     * cached for the new version). Period boards - and an all-time board that wasn't cached - are loaded and
+     * compared off the main thread, with the events fired back on the main thread
+     * A board whose previous rows weren't known only records a baseline, so the next save can be compared
+     */
+    private void notifyRecordListeners(Course courseConfig, String player, double time, CourseType type, LocalDateTime date,
+                                       List<RaceRecord> oldRanking, List<RaceRecord> oldTop,
+                                       Map<Period, List<RaceRecord>> oldPeriodTops) {
+        String course = courseConfig.getName();
+        // The row as all_records.yml stores it (time to 2 decimals, date to the second)
+        RaceRecord saved = new RaceRecord(player, course, Math.round(time * 100.0) / 100.0,
+                LocalDateTime.parse(date.format(dateFormatter), dateFormatter), type);
+        
+        if (oldRanking != null) {
+            long version = getCourseDataVersion(course);
+            List<RaceRecord> newRanking = withRecord(oldRanking, saved);
+            leaderboardCache.put(course + "_ALL", new CachedRanking(version, System.currentTimeMillis(), newRanking));
+            
+            publishTop(course, null, version, topOf(oldRanking, RecordListener.TOP_N), topOf(newRanking, RecordListener.TOP_N));
+            
+            // DQ saves (negative time, "(DQ - reason)" names) are never personal bests
+            RaceRecord oldBest = findPlayerRow(oldRanking, player);
+            RaceRecord newBest = findPlayerRow(newRanking, player);
+            if (time >= 0 && newBest != null && (oldBest == null || newBest.getTime() < oldBest.getTime())) {
+                fireRecordListeners(listener -> listener.onPersonalBestChanged(player, course, oldBest, newBest));
+            }
+        }
+        
+        // Period boards only change (update or reset) when they're enabled for the course - and only matter if someone listens
+        List<Period> periods = new ArrayList<>();
+        if (oldPeriodTops != null) {
+            if (courseConfig.isDailyLeaderboard()) periods.add(Period.DAILY);
+            if (courseConfig.isWeeklyLeaderboard()) periods.add(Period.WEEKLY);
+            if (courseConfig.isMonthlyLeaderboard()) periods.add(Period.MONTHLY);
+        }
+        
+        boolean loadAllTime = oldRanking == null;
+        if ((!loadAllTime && periods.isEmpty()) || !plugin.isEnabled()) return;
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<Runnable> events = new ArrayList<>();
+            // Tagged with the version before loading - a save racing the load leaves it stale, never wrongly current
+            long version = getCourseDataVersion(course);
+            
+            if (loadAllTime) {
+                List<RaceRecord> newRanking = getRanking(course, null);
+                List<RaceRecord> newTop = topOf(newRanking, RecordListener.TOP_N);
+                events.add(() -> publishTop(course, null, version, oldTop, newTop));
+                
+                // Only the old top-N is known: the previous best is in it, or absent from a board that wasn't full
+                RaceRecord newBest = findPlayerRow(newRanking, player);
+                if (time >= 0 && newBest != null && oldTop != null) {
+                    RaceRecord oldBest = findPlayerRow(oldTop, player);
+                    boolean oldBestKnown = oldBest != null || oldTop.size() < RecordListener.TOP_N;
+                    if (oldBestKnown && (oldBest == null || newBest.getTime() < oldBest.getTime())) {
+                        events.add(() -> fireRecordListeners(listener -> listener.onPersonalBestChanged(player, course, oldBest, newBest)));
+                    }
+                }
+            }
+            
+            for (Period period : periods) {
+                List<RaceRecord> oldPeriodTop = oldPeriodTops.get(period);
+                List<RaceRecord> newPeriodTop = topOf(getRanking(course, period), RecordListener.TOP_N);
+                events.add(() -> publishTop(course, period, version, oldPeriodTop, newPeriodTop));
+            }
+            
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> events.forEach(Runnable::run));
+            }
+        });
+    }
+    
+    /**
+     * Ranking with a newly saved row applied (one row per player, best time wins - same rule as loadRanking)
+     */
+    private List<RaceRecord> withRecord(List<RaceRecord> ranking, RaceRecord saved) {
+        RaceRecord existing = findPlayerRow(ranking, saved.getPlayer());
+        if (existing != null && existing.getTime() <= saved.getTime()) {
+            return ranking;
+        }
+        
+        List<RaceRecord> result = new ArrayList<>(ranking.size() + 1);
+        for (RaceRecord record : ranking) {
+            if (record != existing) {
+                result.add(record);
+            }
+        }
+        result.add(saved);
+        result.sort(Comparator.comparing(RaceRecord::getTime));
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * Record newTop as the board listeners have seen for this version and fire the change against oldTop
+     * A null oldTop (previous rows unknown) only records the baseline
+     */
+    private void publishTop(String course, Period period, long version, List<RaceRecord> oldTop, List<RaceRecord> newTop) {
+        String key = course + "_" + (period != null ? period.name() : "ALL");
+        // Async loads can finish out of order - never replace a newer baseline with an older one
+        publishedTops.merge(key, new PublishedTop(version, newTop),
+                (current, next) -> next.version >= current.version ? next : current);
+        
+        if (oldTop == null) {
+            plugin.debugDataLog("Leaderboard baseline recorded: " + key + " (previous rows unknown - no change event)");
+        } else if (!sameRows(oldTop, newTop)) {
+            fireRecordListeners(listener -> listener.onLeaderboardChanged(course, period, oldTop, newTop));
+        }
+    }
+    
+    private boolean wantsPeriodEvents() {
+        for (RecordListener listener : recordListeners) {
+            if (listener.wantsPeriodEvents()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void fireRecordListeners(Consumer<RecordListener> event) {
+        for (RecordListener listener : recordListeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Record listener failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private RaceRecord findPlayerRow(List<RaceRecord> ranking, String player) {
+        for (RaceRecord record : ranking) {
+            if (record.getPlayer().equals(player)) {
+                return record;
+            }
+        }
+        return null;
+    }
+    
+    private boolean sameRows(List<RaceRecord> a, List<RaceRecord> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameRow(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean sameRow(RaceRecord x, RaceRecord y) {
+        return x.getPlayer().equals(y.getPlayer()) && Double.compare(x.getTime(), y.getTime()) == 0
+                && Objects.equals(x.getDate(), y.getDate());
+    }
+    
     @Override
     public boolean resetCourseRecords(String courseName) {
         try {
@@ -798,6 +1061,9 @@ public class YAMLRecordManager implements RecordManager {
             
             // Reset course usage statistics
             resetCourseUsageStats(courseName);
+            bumpCourseDataVersion(courseName);
+            plugin.getPlayerPlaceholderCache().invalidateAll();
+            fireRecordListeners(listener -> listener.onRecordsReset(courseName));
             
             return singleplayerReset && multiplayerReset;
         } catch (Exception e) {
@@ -890,6 +1156,7 @@ public class YAMLRecordManager implements RecordManager {
             FileConfiguration recentConfig = YamlConfiguration.loadConfiguration(playerRecentFile);
             recentConfig.set("players." + playerName, null);
             recentConfig.save(playerRecentFile);
+            plugin.getPlayerPlaceholderCache().invalidate(playerName);
             
             plugin.debugLog("Reset all records for player: " + playerName);
             return true;
@@ -944,7 +1211,10 @@ public class YAMLRecordManager implements RecordManager {
             
             // Clear cache
             leaderboardCache.clear();
-            cacheTimestamps.clear();
+            publishedTops.clear();
+            globalDataVersion++;
+            plugin.getPlayerPlaceholderCache().invalidateAll();
+            fireRecordListeners(listener -> listener.onRecordsReset(null));
             
             // Reset usage statistics for all courses
             resetAllCourseUsageStats();
@@ -956,4 +1226,32 @@ public class YAMLRecordManager implements RecordManager {
             return false;
         }
     }
+    
+    /**
+     * A course ranking together with the data version it was loaded at
+     */
+    private static final class CachedRanking {
+        private final long version;
+        private final long loadedAt;
+        private final List<RaceRecord> ranking;
+        
+        CachedRanking(long version, long loadedAt, List<RaceRecord> ranking) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.ranking = ranking;
+        }
+    }
+    
+    /**
+     * The top-N last reported to listeners for a course/period, with the data version it reflects
+     */
+    private static final class PublishedTop {
+        private final long version;
+        private final List<RaceRecord> rows;
+        
+        PublishedTop(long version, List<RaceRecord> rows) {
+            this.version = version;
+            this.rows = rows;
+        }
+    }
 }
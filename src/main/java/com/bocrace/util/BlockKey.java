@@ -0,0 +1,26 @@
+package com.bocrace.util;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+
+/**
+ * Packs block coordinates into a single long (26 bits x, 26 bits z, 12 bits y)
+ * Covers the full world border (±33M) and build height, and avoids allocating position objects
+ */
+public final class BlockKey {
+
+    private BlockKey() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long of(Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static long of(Location location) {
+        return pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+}
@@ -9,7 +9,11 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages race boat spawning, tracking, and cleanup
@@ -19,6 +23,13 @@ public class BoatManager {
     private final BOCRacePlugin plugin;
     private final PDCKeys pdcKeys;
     
+    // Active race boat registry (player UUID -> boat, boat UUID -> player UUID)
+    private final Map<UUID, Boat> boatsByPlayer = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> playersByBoat = new ConcurrentHashMap<>();
+    
+    // Pre-spawned multiplayer boats not yet given to a player (boat UUID -> boat)
+    private final Map<UUID, Boat> idleBoats = new ConcurrentHashMap<>();
+    
     public BoatManager(BOCRacePlugin plugin, PDCKeys pdcKeys) {
         this.plugin = plugin;
         this.pdcKeys = pdcKeys;
@@ -33,14 +44,7 @@ public class BoatManager {
             return null;
         }
         
-        // Use exact spawn location including yaw/pitch for proper direction
-        Location boatSpawn = spawnLocation.clone();
-        boatSpawn.setX(spawnLocation.getBlockX() + 0.5); // Center X
-        boatSpawn.setZ(spawnLocation.getBlockZ() + 0.5); // Center Z
-        boatSpawn.add(0, 1.0, 0); // Add Y offset
-        // Keep original yaw/pitch from setup (FIXED - now actually using stored values)
-        boatSpawn.setYaw(spawnLocation.getYaw());
-        boatSpawn.setPitch(spawnLocation.getPitch());
+        Location boatSpawn = toBoatSpawn(spawnLocation);
         
         plugin.debugLog("Spawning multiplayer race boat for " + player.getName() + " at " + 
                        boatSpawn.getWorld().getName() + " " + 
@@ -53,6 +57,7 @@ public class BoatManager {
         // Mark as race boat
         boat.getPersistentDataContainer().set(pdcKeys.raceBoat, PersistentDataType.BOOLEAN, true);
         boat.getPersistentDataContainer().set(pdcKeys.playerUuid, PersistentDataType.STRING, player.getUniqueId().toString());
+        registerRaceBoat(boat, player.getUniqueId());
         
         // Teleport player into boat
         player.teleport(boatSpawn);
@@ -62,6 +67,61 @@ public class BoatManager {
         return boat;
     }
     
+    /**
+     * Pre-spawn an unassigned race boat at a multiplayer spawn point (lobby phase)
+     */
+    public Boat spawnIdleRaceBoat(Location spawnLocation, String courseName) {
+        if (spawnLocation == null || spawnLocation.getWorld() == null) {
+            return null;
+        }
+        
+        Location boatSpawn = toBoatSpawn(spawnLocation);
+        Boat boat = (Boat) boatSpawn.getWorld().spawnEntity(boatSpawn, EntityType.OAK_BOAT);
+        
+        // Tagged as a race boat so protection applies, player is set when assigned
+        boat.getPersistentDataContainer().set(pdcKeys.raceBoat, PersistentDataType.BOOLEAN, true);
+        boat.getPersistentDataContainer().set(pdcKeys.courseName, PersistentDataType.STRING, courseName);
+        idleBoats.put(boat.getUniqueId(), boat);
+        
+        plugin.debugLog("Pre-spawned idle race boat " + boat.getUniqueId() + " for course " + courseName);
+        return boat;
+    }
+    
+    /**
+     * Give a pre-spawned boat to a player and seat them in it
+     */
+    public void assignRaceBoat(Boat boat, Player player) {
+        idleBoats.remove(boat.getUniqueId());
+        boat.getPersistentDataContainer().set(pdcKeys.playerUuid, PersistentDataType.STRING, player.getUniqueId().toString());
+        registerRaceBoat(boat, player.getUniqueId());
+        
+        player.teleport(boat.getLocation());
+        boat.addPassenger(player);
+        
+        plugin.debugLog("✅ Assigned pre-spawned race boat to " + player.getName());
+    }
+    
+    /**
+     * Check if a boat is pre-spawned and not yet assigned
+     */
+    public boolean isIdleRaceBoat(UUID boatUuid) {
+        return idleBoats.containsKey(boatUuid);
+    }
+    
+    /**
+     * Centered boat spawn one block above a stored spawn point, keeping its yaw/pitch
+     */
+    private Location toBoatSpawn(Location spawnLocation) {
+        // Use exact spawn location including yaw/pitch for proper direction
+        Location boatSpawn = spawnLocation.clone();
+        boatSpawn.setX(spawnLocation.getBlockX() + 0.5); // Center X
+        boatSpawn.setZ(spawnLocation.getBlockZ() + 0.5); // Center Z
+        boatSpawn.add(0, 1.0, 0); // Add Y offset
+        boatSpawn.setYaw(spawnLocation.getYaw());
+        boatSpawn.setPitch(spawnLocation.getPitch());
+        return boatSpawn;
+    }
+    
     /**
      * Spawn a race boat for a player at the specified course (singleplayer)
      */
@@ -97,6 +157,7 @@ public class BoatManager {
         boat.getPersistentDataContainer().set(pdcKeys.courseName, PersistentDataType.STRING, course.getName());
         boat.getPersistentDataContainer().set(pdcKeys.raceState, PersistentDataType.STRING, race.getState().name());
         boat.getPersistentDataContainer().set(pdcKeys.startTime, PersistentDataType.LONG, System.currentTimeMillis());
+        registerRaceBoat(boat, player.getUniqueId());
         
         // Add player as passenger
         boat.addPassenger(player);
@@ -123,6 +184,9 @@ public class BoatManager {
      * Get the player UUID associated with a race boat
      */
     public UUID getRaceBoatPlayer(Boat boat) {
+        UUID registered = playersByBoat.get(boat.getUniqueId());
+        if (registered != null) return registered;
+        
         if (!isRaceBoat(boat)) return null;
         
         String uuidString = boat.getPersistentDataContainer().get(pdcKeys.playerUuid, PersistentDataType.STRING);
@@ -169,6 +233,8 @@ public class BoatManager {
                        ", Course: " + (courseName != null ? courseName : "unknown") + 
                        ", Reason: " + reason);
         
+        unregisterRaceBoat(boat);
+        
         // Remove all passengers first
         boat.getPassengers().forEach(boat::removePassenger);
         
@@ -179,42 +245,84 @@ public class BoatManager {
     }
     
     /**
-     * Find a race boat by player UUID
+     * Find a race boat by player UUID (registry lookup, no world scan)
      */
     public Boat findRaceBoatByPlayer(UUID playerUuid) {
-        // This is a simple implementation - in a production environment,
-        // you might want to maintain a map of active boats for better performance
-        
-        for (org.bukkit.World world : plugin.getServer().getWorlds()) {
-            for (org.bukkit.entity.Entity entity : world.getEntities()) {
-                if (entity instanceof Boat && isRaceBoat(entity)) {
-                    Boat boat = (Boat) entity;
-                    UUID boatPlayer = getRaceBoatPlayer(boat);
-                    if (playerUuid.equals(boatPlayer)) {
-                        return boat;
-                    }
-                }
-            }
+        Boat boat = boatsByPlayer.get(playerUuid);
+        if (boat == null) return null;
+        
+        // Stale handle (boat died or its chunk unloaded without an event reaching us)
+        if (!boat.isValid()) {
+            unregisterRaceBoat(boat);
+            return null;
+        }
+        return boat;
+    }
+    
+    /**
+     * Add a race boat to the registry (on spawn, or when a racing player's boat reloads)
+     */
+    public void registerRaceBoat(Boat boat, UUID playerUuid) {
+        Boat previous = boatsByPlayer.put(playerUuid, boat);
+        if (previous != null && !previous.getUniqueId().equals(boat.getUniqueId())) {
+            playersByBoat.remove(previous.getUniqueId());
         }
+        playersByBoat.put(boat.getUniqueId(), playerUuid);
+    }
+    
+    /**
+     * Drop a boat from the registry (removal, death, chunk unload)
+     */
+    public void unregisterRaceBoat(org.bukkit.entity.Entity boat) {
+        idleBoats.remove(boat.getUniqueId());
+        UUID playerUuid = playersByBoat.remove(boat.getUniqueId());
+        if (playerUuid == null) return;
         
-        return null;
+        // Only clear the player's entry if it still points at this boat
+        boatsByPlayer.computeIfPresent(playerUuid, (id, current) ->
+                current.getUniqueId().equals(boat.getUniqueId()) ? null : current);
+        plugin.debugLog("Unregistered race boat " + boat.getUniqueId() + " for player " + playerUuid);
+    }
+    
+    /**
+     * Check if a boat is in the active registry
+     */
+    public boolean isRegisteredRaceBoat(UUID boatUuid) {
+        return playersByBoat.containsKey(boatUuid) || idleBoats.containsKey(boatUuid);
+    }
+    
+    /**
+     * All registered race boats (read-only view)
+     */
+    public Collection<Boat> getRegisteredRaceBoats() {
+        return Collections.unmodifiableCollection(boatsByPlayer.values());
     }
     
     /**
-     * Cleanup all race boats (for plugin disable/reload)
+     * Cleanup all registered race boats (for plugin disable/reload)
+     * Only touches the registry - boats left in unloaded chunks are reaped by RaceBoatReaper when they load
      */
     public int cleanupAllRaceBoats() {
         int count = 0;
         
-        for (org.bukkit.World world : plugin.getServer().getWorlds()) {
-            for (org.bukkit.entity.Entity entity : world.getEntities()) {
-                if (entity instanceof Boat && isRaceBoat(entity)) {
-                    removeRaceBoat((Boat) entity, "plugin_cleanup");
-                    count++;
-                }
+        for (Boat boat : new java.util.ArrayList<>(boatsByPlayer.values())) {
+            if (boat.isValid()) {
+                removeRaceBoat(boat, "plugin_cleanup");
+                count++;
             }
         }
         
+        for (Boat boat : new java.util.ArrayList<>(idleBoats.values())) {
+            if (boat.isValid()) {
+                removeRaceBoat(boat, "plugin_cleanup");
+                count++;
+            }
+        }
+        
+        boatsByPlayer.clear();
+        playersByBoat.clear();
+        idleBoats.clear();
+        
         plugin.debugLog("Cleaned up " + count + " race boats");
         return count;
     }
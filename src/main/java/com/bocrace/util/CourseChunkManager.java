@@ -0,0 +1,208 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.config.PluginSettings;
+import com.bocrace.model.Checkpoint;
+import com.bocrace.model.Course;
+import com.bocrace.storage.TriggerVolumeIndex;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Preloads a course's chunk footprint asynchronously and holds it with plugin chunk tickets
+ * while any singleplayer or multiplayer race is active on the course
+ */
+public class CourseChunkManager {
+
+    private final BOCRacePlugin plugin;
+
+    // Course name -> ticketed footprint (with number of active races holding it)
+    private final Map<String, HeldFootprint> held = new ConcurrentHashMap<>();
+
+    public CourseChunkManager(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start loading a course's footprint and hold it for one more race
+     * The future completes once every chunk is loaded and ticketed
+     */
+    public CompletableFuture<Void> acquire(Course course) {
+        if (!plugin.getConfigManager().getSettings().isRaceChunksEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        HeldFootprint footprint = held.get(course.getName());
+        if (footprint != null) {
+            footprint.holders++;
+            return footprint.loaded;
+        }
+
+        Map<World, Set<Long>> chunks = computeFootprint(course);
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (Map.Entry<World, Set<Long>> entry : chunks.entrySet()) {
+            World world = entry.getKey();
+            for (long key : entry.getValue()) {
+                int chunkX = (int) key;
+                int chunkZ = (int) (key >> 32);
+                // Paper completes chunk futures on the main thread, so the ticket can be added directly
+                loads.add(world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                    HeldFootprint current = held.get(course.getName());
+                    if (current != null && current.chunks == chunks) {
+                        world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+                    }
+                }));
+            }
+        }
+
+        CompletableFuture<Void> loaded = CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+        held.put(course.getName(), new HeldFootprint(chunks, loaded));
+
+        int total = chunks.values().stream().mapToInt(Set::size).sum();
+        plugin.debugRaceLog("🗺️ Preloading " + total + " chunks for course " + course.getName());
+        loaded.thenRun(() -> plugin.debugRaceLog("🗺️ Course " + course.getName() + " chunks loaded and ticketed"));
+        return loaded;
+    }
+
+    /**
+     * Release one race's hold on a course, dropping the tickets when nobody is left
+     */
+    public void release(String courseName) {
+        HeldFootprint footprint = held.get(courseName);
+        if (footprint == null) return;
+
+        if (--footprint.holders > 0) return;
+
+        held.remove(courseName);
+        removeTickets(footprint);
+        plugin.debugRaceLog("🗺️ Released chunk tickets for course " + courseName);
+    }
+
+    /**
+     * Drop every ticket this plugin holds (plugin disable)
+     */
+    public void releaseAll() {
+        for (World world : plugin.getServer().getWorlds()) {
+            world.removePluginChunkTickets(plugin);
+        }
+        held.clear();
+    }
+
+    /**
+     * Check if a course's footprint has finished loading
+     */
+    public boolean isLoaded(String courseName) {
+        HeldFootprint footprint = held.get(courseName);
+        return footprint == null || footprint.loaded.isDone();
+    }
+
+    public int getHeldCourseCount() {
+        return held.size();
+    }
+
+    private void removeTickets(HeldFootprint footprint) {
+        for (Map.Entry<World, Set<Long>> entry : footprint.chunks.entrySet()) {
+            for (long key : entry.getValue()) {
+                entry.getKey().removePluginChunkTicket((int) key, (int) (key >> 32), plugin);
+            }
+        }
+    }
+
+    /**
+     * Chunks covering the course's race locations (boat spawns, start/finish lines, checkpoints)
+     * Uses the bounding box of those points plus a margin, or just the chunks around each point
+     * when the box would exceed race-chunks.max-chunks
+     */
+    public Map<World, Set<Long>> computeFootprint(Course course) {
+        List<Location> points = new ArrayList<>();
+        addPoint(points, course.getSpboatspawn());
+        addPoint(points, course.getSpstart1());
+        addPoint(points, course.getSpstart2());
+        addPoint(points, course.getSpfinish1());
+        addPoint(points, course.getSpfinish2());
+        if (course.getMpboatSpawns() != null) {
+            for (Location spawn : course.getMpboatSpawns()) {
+                addPoint(points, spawn);
+            }
+        }
+        if (course.getCheckpoints() != null) {
+            for (Checkpoint checkpoint : course.getCheckpoints()) {
+                addPoint(points, checkpoint.getPoint1());
+                addPoint(points, checkpoint.getPoint2());
+            }
+        }
+
+        PluginSettings settings = plugin.getConfigManager().getSettings();
+        int margin = settings.getRaceChunksMargin();
+        int maxChunks = settings.getRaceChunksMaxChunks();
+
+        // Group points per world
+        Map<World, List<Location>> byWorld = new HashMap<>();
+        for (Location point : points) {
+            byWorld.computeIfAbsent(point.getWorld(), world -> new ArrayList<>()).add(point);
+        }
+
+        Map<World, Set<Long>> footprint = new HashMap<>();
+        for (Map.Entry<World, List<Location>> entry : byWorld.entrySet()) {
+            int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+            for (Location point : entry.getValue()) {
+                int chunkX = point.getBlockX() >> 4;
+                int chunkZ = point.getBlockZ() >> 4;
+                minX = Math.min(minX, chunkX);
+                minZ = Math.min(minZ, chunkZ);
+                maxX = Math.max(maxX, chunkX);
+                maxZ = Math.max(maxZ, chunkZ);
+            }
+
+            Set<Long> keys = new LinkedHashSet<>();
+            long boxSize = (long) (maxX - minX + 1 + 2 * margin) * (maxZ - minZ + 1 + 2 * margin);
+            if (boxSize <= maxChunks) {
+                addSquare(keys, minX - margin, minZ - margin, maxX + margin, maxZ + margin);
+            } else {
+                // Course too spread out - only hold the area around each race location
+                for (Location point : entry.getValue()) {
+                    int chunkX = point.getBlockX() >> 4;
+                    int chunkZ = point.getBlockZ() >> 4;
+                    addSquare(keys, chunkX - margin, chunkZ - margin, chunkX + margin, chunkZ + margin);
+                }
+            }
+            footprint.put(entry.getKey(), keys);
+        }
+        return footprint;
+    }
+
+    private static void addPoint(List<Location> points, Location location) {
+        if (location != null && location.getWorld() != null) {
+            points.add(location);
+        }
+    }
+
+    private static void addSquare(Set<Long> keys, int minX, int minZ, int maxX, int maxZ) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                keys.add(TriggerVolumeIndex.chunkKey(x, z));
+            }
+        }
+    }
+
+    private static class HeldFootprint {
+        private final Map<World, Set<Long>> chunks;
+        private final CompletableFuture<Void> loaded;
+        private int holders = 1;
+
+        HeldFootprint(Map<World, Set<Long>> chunks, CompletableFuture<Void> loaded) {
+            this.chunks = chunks;
+            this.loaded = loaded;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bocrace.util;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, pre-resolved set of sounds and particles for one plugin event
+ * Built once per config load, playback is a plain array walk
+ */
+public final class EffectPreset {
+
+    private final SoundCue[] sounds;
+    private final ParticleCue[] particles;
+    private final boolean shared;
+
+    private EffectPreset(SoundCue[] sounds, ParticleCue[] particles, boolean shared) {
+        this.sounds = sounds;
+        this.particles = particles;
+        this.shared = shared;
+    }
+
+    /**
+     * Play this preset to a player, honouring the (course or global) sound/particle toggles
+     * Shared presets send their particles to everyone nearby through the dispatcher
+     */
+    public void play(Player player, Location location, boolean soundsEnabled, boolean particlesEnabled,
+                     ParticleDispatcher dispatcher) {
+        if (soundsEnabled) {
+            for (SoundCue cue : sounds) {
+                player.playSound(location, cue.sound, cue.volume, cue.pitch);
+            }
+        }
+        if (particlesEnabled) {
+            for (ParticleCue cue : particles) {
+                if (shared && dispatcher != null) {
+                    dispatcher.queue(cue.particle, location, cue.count, cue.offsetX, cue.offsetY, cue.offsetZ, cue.speed);
+                } else {
+                    player.spawnParticle(cue.particle, location, cue.count, cue.offsetX, cue.offsetY, cue.offsetZ, cue.speed);
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private final List<SoundCue> sounds = new ArrayList<>();
+        private final List<ParticleCue> particles = new ArrayList<>();
+        private boolean shared = false;
+
+        /**
+         * Show this preset's particles to nearby players too, not just the one it's played for
+         */
+        public Builder shared() {
+            this.shared = true;
+            return this;
+        }
+
+        /**
+         * Add a sound (ignored if it couldn't be resolved)
+         */
+        public Builder sound(Sound sound, float volume, float pitch) {
+            if (sound != null) {
+                sounds.add(new SoundCue(sound, volume, pitch));
+            }
+            return this;
+        }
+
+        /**
+         * Add a particle burst (ignored if it couldn't be resolved)
+         */
+        public Builder particle(Particle particle, int count, double offsetX, double offsetY, double offsetZ, double speed) {
+            if (particle != null) {
+                particles.add(new ParticleCue(particle, count, offsetX, offsetY, offsetZ, speed));
+            }
+            return this;
+        }
+
+        public EffectPreset build() {
+            return new EffectPreset(sounds.toArray(new SoundCue[0]), particles.toArray(new ParticleCue[0]), shared);
+        }
+    }
+
+    private static final class SoundCue {
+        private final Sound sound;
+        private final float volume;
+        private final float pitch;
+
+        SoundCue(Sound sound, float volume, float pitch) {
+            this.sound = sound;
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+    }
+
+    private static final class ParticleCue {
+        private final Particle particle;
+        private final int count;
+        private final double offsetX;
+        private final double offsetY;
+        private final double offsetZ;
+        private final double speed;
+
+        ParticleCue(Particle particle, int count, double offsetX, double offsetY, double offsetZ, double speed) {
+            this.particle = particle;
+            this.count = count;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.speed = speed;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.model.Course;
+import com.bocrace.model.Period;
+import com.bocrace.model.RaceRecord;
+import com.bocrace.storage.RecordListener;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.TextDisplay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native course leaderboards built from TextDisplay entities (one entity per line)
+ * Lines are rewritten only when their row changes, driven by the record store's change events -
+ * nothing is polled. Rows for new boards (and after resets) are loaded off the main thread
+ * Displays aren't saved with the world and are respawned when their chunk loads
+ */
+public class LeaderboardDisplayManager implements RecordListener {
+
+    private static final int LINES = RecordListener.TOP_N + 1; // Title + rows
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private final BOCRacePlugin plugin;
+
+    // Course name -> board (main thread only)
+    private final Map<String, Board> boards = new HashMap<>();
+    private boolean started = false;
+
+    // Counters for /bocrace perf
+    private long linesUpdated = 0;
+    private long linesUnchanged = 0;
+
+    public LeaderboardDisplayManager(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Build boards for every course with a leaderboard location and start listening for record changes
+     */
+    public void start() {
+        if (started || !plugin.getConfigManager().getSettings().isLeaderboardsEnabled()) return;
+        started = true;
+        plugin.getRecordManager().addRecordListener(this);
+        for (Course course : plugin.getStorageManager().getAllCourses()) {
+            refreshCourse(course.getName());
+        }
+        plugin.debugDataLog("Leaderboard displays started - " + boards.size() + " board(s)");
+    }
+
+    /**
+     * Remove every display and stop listening
+     */
+    public void stop() {
+        if (!started) return;
+        started = false;
+        plugin.getRecordManager().removeRecordListener(this);
+        for (Board board : boards.values()) {
+            board.despawn();
+        }
+        boards.clear();
+    }
+
+    /**
+     * Re-read settings (line spacing, enabled) and rebuild all boards
+     */
+    public void reload() {
+        stop();
+        start();
+    }
+
+    /**
+     * Rebuild one course's board (after its leaderboard location or time precision changed)
+     * The title shows straight away, the rows once they've been loaded from storage
+     */
+    public void refreshCourse(String courseName) {
+        if (!started) return;
+        removeCourse(courseName);
+
+        Course course = plugin.getStorageManager().getCourse(courseName);
+        if (course == null || course.getLeaderboardDisplay() == null || course.getLeaderboardDisplay().getWorld() == null) {
+            return;
+        }
+
+        Board board = new Board(courseName, course.getLeaderboardDisplay().clone());
+        board.texts[0] = "§6§l" + courseName + " §7- §eTop " + RecordListener.TOP_N;
+        boards.put(courseName, board);
+        board.spawnIfLoaded();
+        loadRows(board);
+    }
+
+    /**
+     * Remove a course's board (course deleted or leaderboard moved)
+     */
+    public void removeCourse(String courseName) {
+        Board board = boards.remove(courseName);
+        if (board != null) {
+            board.despawn();
+        }
+    }
+
+    /**
+     * Respawn boards anchored in a chunk that just loaded (ChunkLoadEvent)
+     */
+    public void onChunkLoad(Chunk chunk) {
+        if (boards.isEmpty()) return;
+        for (Board board : boards.values()) {
+            if (board.isIn(chunk) && !board.isSpawned()) {
+                // Don't add entities from inside the load event
+                Bukkit.getScheduler().runTask(plugin, board::spawnIfLoaded);
+            }
+        }
+    }
+
+    @Override
+    public void onLeaderboardChanged(String course, Period period, List<RaceRecord> oldTop, List<RaceRecord> newTop) {
+        if (period != null) return; // Boards show the all-time top
+        runOnMain(() -> {
+            Board board = boards.get(course);
+            Course courseConfig = plugin.getStorageManager().getCourse(course);
+            if (board != null && courseConfig != null) {
+                board.rowUpdates++;
+                fillRows(board, courseConfig, newTop);
+            }
+        });
+    }
+
+    @Override
+    public boolean wantsPeriodEvents() {
+        return false; // Boards show the all-time top
+    }
+
+    @Override
+    public void onRecordsReset(String course) {
+        runOnMain(() -> {
+            List<String> courses = course != null ? List.of(course) : new ArrayList<>(boards.keySet());
+            for (String courseName : courses) {
+                Board board = boards.get(courseName);
+                if (board != null) {
+                    loadRows(board);
+                }
+            }
+        });
+    }
+
+    public int getBoardCount() { return boards.size(); }
+    public long getLinesUpdated() { return linesUpdated; }
+    public long getLinesUnchanged() { return linesUnchanged; }
+
+    public void resetCounters() {
+        linesUpdated = 0;
+        linesUnchanged = 0;
+    }
+
+    /**
+     * Load a board's rows off the main thread and apply them back on it
+     * Dropped if the board was replaced, or a change event already gave it newer rows, while loading
+     */
+    private void loadRows(Board board) {
+        if (!plugin.isEnabled()) return;
+        int rowUpdates = board.rowUpdates;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<RaceRecord> rows;
+            try {
+                rows = plugin.getRecordManager().getTopTimes(board.courseName, RecordListener.TOP_N);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to load leaderboard rows for " + board.courseName + ": " + e.getMessage());
+                return;
+            }
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                Course course = plugin.getStorageManager().getCourse(board.courseName);
+                if (boards.get(board.courseName) != board || board.rowUpdates != rowUpdates || course == null) return;
+                board.rowUpdates++;
+                fillRows(board, course, rows);
+            });
+        });
+    }
+
+    private void runOnMain(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Write the rows into the board, touching only the lines whose text changed
+     */
+    private void fillRows(Board board, Course course, List<RaceRecord> rows) {
+        for (int i = 0; i < RecordListener.TOP_N; i++) {
+            String text;
+            if (i < rows.size()) {
+                RaceRecord row = rows.get(i);
+                text = "§e#" + (i + 1) + " §f" + row.getPlayer() + " §7- §b"
+                        + TimeFormat.format((long) (row.getTime() * 1000), course.getPrecision());
+            } else {
+                text = "§7#" + (i + 1) + " §8---";
+            }
+            board.setLine(i + 1, text);
+        }
+    }
+
+    /**
+     * One course's stack of line displays
+     */
+    private final class Board {
+        private final String courseName;
+        private final Location anchor; // Bottom line - the rest stack upwards
+        private final String[] texts = new String[LINES];
+        private final TextDisplay[] lines = new TextDisplay[LINES];
+        private int rowUpdates = 0; // Bumped whenever rows are applied, so older loads can tell they're stale
+
+        Board(String courseName, Location anchor) {
+            this.courseName = courseName;
+            this.anchor = anchor;
+        }
+
+        boolean isIn(Chunk chunk) {
+            return chunk.getWorld().equals(anchor.getWorld())
+                    && chunk.getX() == anchor.getBlockX() >> 4 && chunk.getZ() == anchor.getBlockZ() >> 4;
+        }
+
+        boolean isSpawned() {
+            return lines[0] != null && lines[0].isValid();
+        }
+
+        void setLine(int index, String text) {
+            if (text.equals(texts[index])) {
+                linesUnchanged++;
+                return;
+            }
+            texts[index] = text;
+            linesUpdated++;
+            TextDisplay display = lines[index];
+            if (display != null && display.isValid()) {
+                display.text(LEGACY.deserialize(text));
+            }
+        }
+
+        void spawnIfLoaded() {
+            World world = anchor.getWorld();
+            if (world == null || isSpawned() || boards.get(courseName) != this) return;
+            if (!world.isChunkLoaded(anchor.getBlockX() >> 4, anchor.getBlockZ() >> 4)) return;
+
+            despawn();
+            double spacing = plugin.getConfigManager().getSettings().getLeaderboardLineSpacing();
+            for (int i = 0; i < LINES; i++) {
+                Location lineLocation = anchor.clone().add(0, (LINES - 1 - i) * spacing, 0);
+                String text = texts[i] != null ? texts[i] : "";
+                lines[i] = world.spawn(lineLocation, TextDisplay.class, display -> {
+                    display.setPersistent(false);
+                    display.setBillboard(Display.Billboard.CENTER);
+                    display.text(LEGACY.deserialize(text));
+                });
+            }
+            plugin.debugDataLog("Leaderboard display spawned for " + courseName);
+        }
+
+        void despawn() {
+            for (int i = 0; i < LINES; i++) {
+                if (lines[i] != null && lines[i].isValid()) {
+                    lines[i].remove();
+                }
+                lines[i] = null;
+            }
+        }
+    }
+}
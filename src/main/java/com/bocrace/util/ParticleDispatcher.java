@@ -0,0 +1,129 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.config.PluginSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sends race effect particles to every player near the effect, once per tick
+ * Bursts of the same particle at (nearly) the same spot in one tick are merged, and a server-wide
+ * per-tick particle budget caps the packet cost of mass finishes
+ */
+public class ParticleDispatcher {
+
+    private final BOCRacePlugin plugin;
+
+    // Bursts queued this tick (main thread only)
+    private final List<Burst> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    // Counters for /bocrace perf
+    private long burstsQueued = 0;
+    private long burstsCoalesced = 0;
+    private long burstsSent = 0;
+    private long particlesSent = 0;
+    private long particlesDropped = 0;
+    private long packetsSent = 0;
+
+    public ParticleDispatcher(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queue a particle burst for everyone within the view radius (sent at the end of the tick)
+     */
+    public void queue(Particle particle, Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double speed) {
+        if (location.getWorld() == null || count <= 0) return;
+        burstsQueued++;
+
+        double coalesceRadius = plugin.getConfigManager().getSettings().getParticleCoalesceRadius();
+        double coalesceSquared = coalesceRadius * coalesceRadius;
+        for (Burst burst : pending) {
+            if (burst.particle == particle && burst.location.getWorld() == location.getWorld()
+                    && burst.location.distanceSquared(location) <= coalesceSquared) {
+                // Simultaneous finish at the same line - one shared burst is enough
+                burst.count = Math.max(burst.count, count);
+                burstsCoalesced++;
+                return;
+            }
+        }
+
+        pending.add(new Burst(particle, location.clone(), count, offsetX, offsetY, offsetZ, speed));
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    public void resetCounters() {
+        burstsQueued = 0;
+        burstsCoalesced = 0;
+        burstsSent = 0;
+        particlesSent = 0;
+        particlesDropped = 0;
+        packetsSent = 0;
+    }
+
+    public long getBurstsQueued() { return burstsQueued; }
+    public long getBurstsCoalesced() { return burstsCoalesced; }
+    public long getBurstsSent() { return burstsSent; }
+    public long getParticlesSent() { return particlesSent; }
+    public long getParticlesDropped() { return particlesDropped; }
+    public long getPacketsSent() { return packetsSent; }
+
+    private void flush() {
+        flushScheduled = false;
+        PluginSettings settings = plugin.getConfigManager().getSettings();
+        double viewRadius = settings.getParticleViewRadius();
+        int budget = settings.getParticleMaxPerTick();
+
+        for (Burst burst : pending) {
+            if (budget <= 0) {
+                particlesDropped += burst.count;
+                continue;
+            }
+
+            int count = Math.min(burst.count, budget);
+            particlesDropped += burst.count - count;
+            budget -= count;
+
+            Collection<Player> viewers = burst.location.getNearbyPlayers(viewRadius);
+            for (Player viewer : viewers) {
+                viewer.spawnParticle(burst.particle, burst.location, count,
+                        burst.offsetX, burst.offsetY, burst.offsetZ, burst.speed);
+            }
+            burstsSent++;
+            particlesSent += count;
+            packetsSent += viewers.size();
+        }
+        pending.clear();
+    }
+
+    private static final class Burst {
+        private final Particle particle;
+        private final Location location;
+        private int count;
+        private final double offsetX;
+        private final double offsetY;
+        private final double offsetZ;
+        private final double speed;
+
+        Burst(Particle particle, Location location, int count, double offsetX, double offsetY, double offsetZ, double speed) {
+            this.particle = particle;
+            this.location = location;
+            this.count = count;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.speed = speed;
+        }
+    }
+}
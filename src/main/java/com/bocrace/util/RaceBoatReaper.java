@@ -0,0 +1,146 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Boat;
+import org.bukkit.entity.Entity;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Finds race boats left behind by crashes or unloads and removes them
+ * Boats are checked as their chunks load, and full sweeps are spread across ticks with a time budget
+ */
+public class RaceBoatReaper {
+
+    private final BOCRacePlugin plugin;
+    private final BoatManager boatManager;
+
+    // Chunks still waiting to be checked by the running sweep
+    private final Deque<Chunk> pendingChunks = new ArrayDeque<>();
+    private BukkitTask sweepTask;
+    private int sweepReaped = 0;
+
+    public RaceBoatReaper(BOCRacePlugin plugin, BoatManager boatManager) {
+        this.plugin = plugin;
+        this.boatManager = boatManager;
+    }
+
+    /**
+     * Check freshly loaded entities (EntitiesLoadEvent) - orphans are removed next tick
+     */
+    public void checkLoadedEntities(List<Entity> entities) {
+        List<Boat> orphans = null;
+        for (Entity entity : entities) {
+            if (!(entity instanceof Boat) || !boatManager.isRaceBoat(entity)) continue;
+            Boat boat = (Boat) entity;
+            if (isOrphan(boat)) {
+                if (orphans == null) orphans = new ArrayList<>();
+                orphans.add(boat);
+            }
+        }
+        if (orphans == null) return;
+
+        // Don't remove entities from inside the load event
+        List<Boat> toReap = orphans;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            for (Boat boat : toReap) {
+                if (boat.isValid()) {
+                    boatManager.removeRaceBoat(boat, "orphan_reaped");
+                }
+            }
+            plugin.debugLog("🧹 Reaped " + toReap.size() + " orphaned race boats on chunk load");
+        });
+    }
+
+    /**
+     * A race boat is an orphan unless it is the registered boat of a player who is still racing
+     * A racing player's unregistered boat (e.g. chunk reloaded) is adopted back into the registry
+     */
+    public boolean isOrphan(Boat boat) {
+        if (boatManager.isRegisteredRaceBoat(boat.getUniqueId())) return false;
+
+        UUID playerUuid = boatManager.getRaceBoatPlayer(boat);
+        if (playerUuid == null || !isRacing(playerUuid)) return true;
+
+        // Player already has another live boat - this one is a leftover
+        if (boatManager.findRaceBoatByPlayer(playerUuid) != null) return true;
+
+        boatManager.registerRaceBoat(boat, playerUuid);
+        plugin.debugLog("Re-adopted race boat " + boat.getUniqueId() + " for racing player " + playerUuid);
+        return false;
+    }
+
+    private boolean isRacing(UUID playerUuid) {
+        return plugin.getRaceManager().getActiveRace(playerUuid) != null
+                || plugin.getMultiplayerRaceManager().isPlayerInRace(playerUuid);
+    }
+
+    /**
+     * Start a budgeted sweep of every loaded chunk for orphaned race boats (no-op if one is running)
+     */
+    public void startSweep() {
+        if (sweepTask != null) return;
+
+        for (World world : Bukkit.getWorlds()) {
+            Collections.addAll(pendingChunks, world.getLoadedChunks());
+        }
+        sweepReaped = 0;
+        long budgetNanos = plugin.getConfigManager().getSettings().getSweepBudgetMs() * 1_000_000L;
+        plugin.debugLog("🧹 Orphan race boat sweep started - " + pendingChunks.size() + " chunks queued");
+
+        sweepTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                long deadline = System.nanoTime() + budgetNanos;
+                while (!pendingChunks.isEmpty() && System.nanoTime() < deadline) {
+                    Chunk chunk = pendingChunks.poll();
+                    if (!chunk.isLoaded()) continue; // Will be checked again when it loads
+                    for (Entity entity : chunk.getEntities()) {
+                        if (entity instanceof Boat && boatManager.isRaceBoat(entity) && isOrphan((Boat) entity)) {
+                            boatManager.removeRaceBoat((Boat) entity, "orphan_reaped");
+                            sweepReaped++;
+                        }
+                    }
+                }
+
+                if (pendingChunks.isEmpty()) {
+                    if (sweepReaped > 0) {
+                        plugin.getLogger().info("🛥️ Reaped " + sweepReaped + " orphaned race boats");
+                    }
+                    plugin.debugLog("🧹 Orphan race boat sweep finished");
+                    cancel();
+                    sweepTask = null;
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Stop any running sweep
+     */
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        pendingChunks.clear();
+    }
+
+    public boolean isSweeping() {
+        return sweepTask != null;
+    }
+
+    public int getPendingChunkCount() {
+        return pendingChunks.size();
+    }
+}
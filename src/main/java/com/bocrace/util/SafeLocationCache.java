@@ -0,0 +1,263 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.model.Course;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validated landing spots for each course's lobbies, so teleports never probe blocks on the hot path
+ * Spots are revalidated (after an async chunk load) when the course is edited or a block changes near them
+ */
+public class SafeLocationCache {
+
+    public enum Spot {
+        MAIN_LOBBY,
+        COURSE_LOBBY,
+        RACE_LOBBY
+    }
+
+    private enum Status {
+        PENDING,
+        SAFE,
+        UNSAFE
+    }
+
+    // How far above the stored spot to look for headroom if it's blocked
+    private static final int SEARCH_UP = 4;
+
+    private final BOCRacePlugin plugin;
+
+    // Course name -> validated spots
+    private final Map<String, Map<Spot, SafeSpot>> spots = new ConcurrentHashMap<>();
+
+    // World -> packed block position -> courses with a spot using that block
+    private final Map<UUID, Map<Long, Set<String>>> watchedBlocks = new ConcurrentHashMap<>();
+
+    // World -> sorted packed chunk keys holding any spot (immutable snapshot, swapped on change)
+    // Lets block events outside those chunks return before any boxed lookup
+    private volatile Map<UUID, long[]> watchedChunks = Map.of();
+
+    // Courses waiting for revalidation after a block change (flushed once per tick)
+    private final Set<String> dirtyCourses = ConcurrentHashMap.newKeySet();
+    private boolean flushScheduled = false;
+
+    public SafeLocationCache(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Rebuild and revalidate all spots for a course (course load/save)
+     */
+    public void revalidate(Course course) {
+        removeSpots(course.getName());
+
+        Map<Spot, SafeSpot> courseSpots = new EnumMap<>(Spot.class);
+        addSpot(courseSpots, course.getName(), Spot.MAIN_LOBBY, course.getSpmainlobby());
+        addSpot(courseSpots, course.getName(), Spot.COURSE_LOBBY, course.getSpcourselobby());
+        addSpot(courseSpots, course.getName(), Spot.RACE_LOBBY, course.getMpraceLobbySpawn());
+        if (courseSpots.isEmpty()) return;
+
+        spots.put(course.getName(), courseSpots);
+        rebuildWatchedChunks();
+        for (SafeSpot spot : courseSpots.values()) {
+            validateAsync(spot);
+        }
+    }
+
+    /**
+     * Forget a course's spots (course deleted)
+     */
+    public void remove(String courseName) {
+        removeSpots(courseName);
+        rebuildWatchedChunks();
+    }
+
+    private void removeSpots(String courseName) {
+        Map<Spot, SafeSpot> removed = spots.remove(courseName);
+        if (removed == null) return;
+
+        for (SafeSpot spot : removed.values()) {
+            Map<Long, Set<String>> blocks = watchedBlocks.get(spot.worldId);
+            if (blocks == null) continue;
+            for (long key : spot.watchedKeys) {
+                Set<String> courses = blocks.get(key);
+                if (courses != null) {
+                    courses.remove(courseName);
+                    if (courses.isEmpty()) blocks.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop everything (full course reload)
+     */
+    public void clear() {
+        spots.clear();
+        watchedBlocks.clear();
+        watchedChunks = Map.of();
+        dirtyCourses.clear();
+    }
+
+    /**
+     * Landing spot for a course location - no block probing
+     * Returns null if the location isn't set or was validated as unsafe
+     */
+    public Location getDestination(Course course, Spot spot) {
+        Map<Spot, SafeSpot> courseSpots = spots.get(course.getName());
+        SafeSpot safeSpot = courseSpots != null ? courseSpots.get(spot) : null;
+        if (safeSpot == null) {
+            // Not cached (e.g. world wasn't loaded when the course was) - use the stored spot as-is
+            Location stored = getStored(course, spot);
+            return stored != null ? TeleportUtil.lobbyDestination(stored) : null;
+        }
+        if (safeSpot.status == Status.UNSAFE) return null;
+        return safeSpot.destination.clone();
+    }
+
+    /**
+     * A block changed - queue revalidation if it belongs to any spot
+     */
+    public void onBlockChanged(Block block) {
+        // Primitive chunk check first - this runs for every block update on the server
+        long[] chunks = watchedChunks.get(block.getWorld().getUID());
+        if (chunks == null || Arrays.binarySearch(chunks, chunkKey(block.getX() >> 4, block.getZ() >> 4)) < 0) return;
+
+        Map<Long, Set<String>> blocks = watchedBlocks.get(block.getWorld().getUID());
+        if (blocks == null) return;
+        Set<String> courses = blocks.get(BlockKey.of(block));
+        if (courses == null || courses.isEmpty()) return;
+
+        dirtyCourses.addAll(courses);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flushDirty);
+        }
+    }
+
+    public int getCachedCourseCount() {
+        return spots.size();
+    }
+
+    private void rebuildWatchedChunks() {
+        Map<UUID, Set<Long>> chunksByWorld = new HashMap<>();
+        for (Map<Spot, SafeSpot> courseSpots : spots.values()) {
+            for (SafeSpot spot : courseSpots.values()) {
+                chunksByWorld.computeIfAbsent(spot.worldId, id -> new HashSet<>())
+                        .add(chunkKey(spot.base.getBlockX() >> 4, spot.base.getBlockZ() >> 4));
+            }
+        }
+
+        Map<UUID, long[]> snapshot = new HashMap<>();
+        for (Map.Entry<UUID, Set<Long>> entry : chunksByWorld.entrySet()) {
+            long[] keys = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            snapshot.put(entry.getKey(), keys);
+        }
+        watchedChunks = snapshot;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private void flushDirty() {
+        flushScheduled = false;
+        for (String courseName : dirtyCourses) {
+            Map<Spot, SafeSpot> courseSpots = spots.get(courseName);
+            if (courseSpots == null) continue;
+            for (SafeSpot spot : courseSpots.values()) {
+                validateAsync(spot);
+            }
+            plugin.debugDataLog("Block changed near a lobby of course " + courseName + " - revalidating safe spots");
+        }
+        dirtyCourses.clear();
+    }
+
+    private void addSpot(Map<Spot, SafeSpot> courseSpots, String courseName, Spot type, Location stored) {
+        if (stored == null || stored.getWorld() == null) return;
+
+        Location base = TeleportUtil.lobbyDestination(stored);
+        long[] keys = new long[SEARCH_UP + 3];
+        for (int i = 0; i < keys.length; i++) {
+            // Floor block through the top of the search range (feet + head)
+            keys[i] = BlockKey.pack(base.getBlockX(), base.getBlockY() - 1 + i, base.getBlockZ());
+        }
+
+        SafeSpot spot = new SafeSpot(base, stored.getWorld().getUID(), keys);
+        courseSpots.put(type, spot);
+
+        Map<Long, Set<String>> blocks = watchedBlocks.computeIfAbsent(spot.worldId, id -> new ConcurrentHashMap<>());
+        for (long key : keys) {
+            blocks.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(courseName);
+        }
+    }
+
+    /**
+     * Load the spot's chunk asynchronously, then probe the few blocks it needs
+     */
+    private void validateAsync(SafeSpot spot) {
+        World world = spot.base.getWorld();
+        if (world == null) return;
+
+        world.getChunkAtAsync(spot.base.getBlockX() >> 4, spot.base.getBlockZ() >> 4).thenAccept(chunk -> {
+            for (int dy = 0; dy <= SEARCH_UP; dy++) {
+                Location candidate = spot.base.clone().add(0, dy, 0);
+                if (hasHeadroom(candidate)) {
+                    spot.destination = candidate;
+                    spot.status = Status.SAFE;
+                    return;
+                }
+            }
+            spot.destination = spot.base;
+            spot.status = Status.UNSAFE;
+            plugin.getLogger().warning("No safe landing spot near " + spot.base.getWorld().getName() + " " +
+                    spot.base.getBlockX() + "," + spot.base.getBlockY() + "," + spot.base.getBlockZ() +
+                    " - teleports will fall back to the next lobby");
+        });
+    }
+
+    private static boolean hasHeadroom(Location location) {
+        return !location.getBlock().getType().isSolid()
+                && !location.clone().add(0, 1, 0).getBlock().getType().isSolid();
+    }
+
+    private static Location getStored(Course course, Spot spot) {
+        switch (spot) {
+            case MAIN_LOBBY:
+                return course.getSpmainlobby();
+            case COURSE_LOBBY:
+                return course.getSpcourselobby();
+            case RACE_LOBBY:
+                return course.getMpraceLobbySpawn();
+            default:
+                return null;
+        }
+    }
+
+    private static class SafeSpot {
+        private final Location base;
+        private final UUID worldId;
+        private final long[] watchedKeys;
+        private volatile Location destination;
+        private volatile Status status = Status.PENDING;
+
+        SafeSpot(Location base, UUID worldId, long[] watchedKeys) {
+            this.base = base;
+            this.worldId = worldId;
+            this.watchedKeys = watchedKeys;
+            this.destination = base;
+        }
+    }
+}
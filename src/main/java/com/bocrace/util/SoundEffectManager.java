@@ -11,203 +11,136 @@ import java.util.logging.Logger;
 
 /**
  * Manages sound effects and particles for the race plugin
- * Uses configuration settings for customizable audio/visual feedback
+ * Configured sounds and particles are resolved into presets once per load
  */
 public class SoundEffectManager {
     private final BOCRacePlugin plugin;
     private final Logger logger;
-    private final boolean soundsEnabled;
-    private final boolean particlesEnabled;
+    private final ParticleDispatcher particleDispatcher;
+    
+    // Resolved presets, swapped as a whole on reload
+    private volatile Presets presets;
     
     public SoundEffectManager(BOCRacePlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
-        this.soundsEnabled = plugin.getConfig().getBoolean("sounds.enabled", true);
-        this.particlesEnabled = plugin.getConfig().getBoolean("particles.enabled", true);
+        this.particleDispatcher = plugin.getParticleDispatcher();
+        reloadPresets();
+    }
+    
+    /**
+     * Resolve every configured sound and particle name once (plugin load and /bocrace reload)
+     */
+    public void reloadPresets() {
+        this.presets = new Presets(this);
+        plugin.debugLog("Effect presets resolved");
     }
     
     /**
      * Plays race start effects
      */
     public void playRaceStartEffects(Player player, Location location, Course course) {
-        boolean courseSoundsEnabled = course != null ? course.areSoundsEnabled(plugin) : soundsEnabled;
-        boolean courseParticlesEnabled = course != null ? course.areParticlesEnabled(plugin) : particlesEnabled;
-        
-        if (courseSoundsEnabled) {
-            // Bell sound for race start (configurable)
-            String soundName = plugin.getConfig().getString("sounds.race-start", "BLOCK_NOTE_BLOCK_BELL");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                player.playSound(location, sound, 1.0f, 1.5f);
-            }
-            // Additional ding for emphasis
-            player.playSound(location, Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 2.0f);
-        }
-        
-        if (courseParticlesEnabled) {
-            String particleName = plugin.getConfig().getString("particles.race-start", "FIREWORK");
-            Particle particle = parseParticle(particleName);
-            if (particle != null) {
-                player.spawnParticle(particle, location, 20, 1, 1, 1, 0.1);
-            }
-        }
+        Presets current = presets;
+        current.raceStart.play(player, location, soundsFor(current, course), particlesFor(current, course), particleDispatcher);
     }
     
     /**
      * Plays race finish effects
      */
     public void playRaceFinishEffects(Player player, Location location, Course course) {
-        boolean courseSoundsEnabled = course != null ? course.areSoundsEnabled(plugin) : soundsEnabled;
-        boolean courseParticlesEnabled = course != null ? course.areParticlesEnabled(plugin) : particlesEnabled;
-        
-        logger.info("🐛 DEBUG: playRaceFinishEffects called - courseSoundsEnabled: " + courseSoundsEnabled);
-        if (courseSoundsEnabled) {
-            // Primary finish sound
-            String soundName = plugin.getConfig().getString("sounds.race-finish", "ENTITY_PLAYER_LEVELUP");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                logger.info("🐛 DEBUG: Playing primary finish sound: " + soundName);
-                player.playSound(location, sound, 1.0f, 1.0f);
-            }
-            
-            // Fireworks sound for dramatic effect (LOUDER)
-            logger.info("🐛 DEBUG: Playing fireworks sounds...");
-            player.playSound(location, Sound.ENTITY_FIREWORK_ROCKET_BLAST, 2.0f, 1.0f);
-            player.playSound(location, Sound.ENTITY_FIREWORK_ROCKET_LARGE_BLAST, 2.0f, 1.2f);
-            player.playSound(location, Sound.ENTITY_FIREWORK_ROCKET_TWINKLE, 2.0f, 1.5f);
-            logger.info("🐛 DEBUG: Fireworks sounds played!");
-        } else {
-            logger.info("🐛 DEBUG: Sounds disabled for this course, skipping finish effects");
-        }
-        
-        if (courseParticlesEnabled) {
-            String particleName = plugin.getConfig().getString("particles.race-finish", "VILLAGER_HAPPY");
-            Particle particle = parseParticle(particleName);
-            if (particle != null) {
-                player.spawnParticle(particle, location, 50, 2, 2, 2, 0.1);
-            }
-        }
+        Presets current = presets;
+        current.raceFinish.play(player, location, soundsFor(current, course), particlesFor(current, course), particleDispatcher);
+        plugin.raceDebugLog("🎆 Finish effects played for " + player.getName());
     }
     
     /**
      * Plays personal best effects
      */
     public void playPersonalBestEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            String soundName = plugin.getConfig().getString("sounds.personal-best", "UI_TOAST_CHALLENGE_COMPLETE");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                player.playSound(location, sound, 1.0f, 2.0f);
-            }
-        }
-        
-        if (particlesEnabled) {
-            // Extra sparkly effects for personal best
-            player.spawnParticle(Particle.FIREWORK, location, 30, 2, 2, 2, 0.2);
-        }
+        Presets current = presets;
+        current.personalBest.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
+    }
+    
+    /**
+     * Plays checkpoint effects
+     */
+    public void playCheckpointEffects(Player player, Location location, Course course) {
+        Presets current = presets;
+        current.checkpoint.play(player, location, soundsFor(current, course), false, particleDispatcher);
     }
     
     /**
      * Plays boat spawn effects
      */
     public void playBoatSpawnEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            player.playSound(location, Sound.ENTITY_BOAT_PADDLE_WATER, 1.0f, 1.0f);
-            player.playSound(location, Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f);
-        }
-        
-        if (particlesEnabled) {
-            String particleName = plugin.getConfig().getString("particles.boat-spawn", "SPLASH");
-            Particle particle = parseParticle(particleName);
-            if (particle != null) {
-                player.spawnParticle(particle, location, 20, 1, 0.5, 1, 0.1);
-            }
-        }
+        Presets current = presets;
+        current.boatSpawn.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
     }
     
     /**
      * Plays setup success effects
      */
     public void playSetupSuccessEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            String soundName = plugin.getConfig().getString("sounds.setup-success", "ENTITY_EXPERIENCE_ORB_PICKUP");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                player.playSound(location, sound, 1.0f, 1.5f);
-            }
-        }
-        
-        if (particlesEnabled) {
-            String particleName = plugin.getConfig().getString("particles.setup-success", "VILLAGER_HAPPY");
-            Particle particle = parseParticle(particleName);
-            if (particle != null) {
-                player.spawnParticle(particle, location, 10, 0.5, 0.5, 0.5, 0.1);
-            }
-        }
+        Presets current = presets;
+        current.setupSuccess.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
     }
     
     /**
      * Plays setup enter effects
      */
     public void playSetupEnterEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            String soundName = plugin.getConfig().getString("sounds.setup-enter", "BLOCK_NOTE_BLOCK_PLING");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                player.playSound(location, sound, 1.0f, 1.5f);
-            }
-        }
+        Presets current = presets;
+        current.setupEnter.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
     }
     
     /**
      * Plays error effects
      */
     public void playErrorEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            String soundName = plugin.getConfig().getString("sounds.error", "ENTITY_VILLAGER_NO");
-            Sound sound = parseSound(soundName);
-            if (sound != null) {
-                player.playSound(location, sound, 1.0f, 1.0f);
-            }
-        }
+        Presets current = presets;
+        current.error.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
     }
     
     /**
      * Plays disqualification effects
      */
     public void playDisqualificationEffects(Player player, Location location) {
-        if (soundsEnabled) {
-            player.playSound(location, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
-            // Additional dramatic sound for DQ
-            player.playSound(location, Sound.BLOCK_ANVIL_LAND, 0.5f, 0.5f);
-        }
-        
-        if (particlesEnabled) {
-            // Red particles for disqualification
-            player.spawnParticle(Particle.FLAME, location, 20, 1, 1, 1, 0.1);
-        }
+        Presets current = presets;
+        current.disqualification.play(player, location, current.soundsEnabled, current.particlesEnabled, particleDispatcher);
+    }
+    
+    private static boolean soundsFor(Presets current, Course course) {
+        if (course == null) return current.soundsEnabled;
+        return course.getSoundsEnabled() != null ? course.getSoundsEnabled() : current.soundsEnabled;
+    }
+    
+    private static boolean particlesFor(Presets current, Course course) {
+        if (course == null) return current.particlesEnabled;
+        return course.getParticlesEnabled() != null ? course.getParticlesEnabled() : current.particlesEnabled;
     }
     
     /**
-     * Parses a sound name from config to Sound enum
+     * Resolves a configured sound name (warns once per load if invalid)
      */
-    private Sound parseSound(String soundName) {
+    private Sound resolveSound(String path, String defaultName) {
+        String soundName = plugin.getConfig().getString(path, defaultName);
         try {
             return Sound.valueOf(soundName.toUpperCase());
         } catch (IllegalArgumentException e) {
-            logger.warning("Invalid sound name in config: " + soundName);
+            logger.warning("Invalid sound name in config at " + path + ": " + soundName);
             return null;
         }
     }
     
     /**
-     * Parses a particle name from config to Particle enum
+     * Resolves a configured particle name (warns once per load if invalid)
      */
-    private Particle parseParticle(String particleName) {
+    private Particle resolveParticle(String path, String defaultName) {
+        String particleName = plugin.getConfig().getString(path, defaultName);
         try {
             return Particle.valueOf(particleName.toUpperCase());
         } catch (IllegalArgumentException e) {
-            logger.warning("Invalid particle name in config: " + particleName);
+            logger.warning("Invalid particle name in config at " + path + ": " + particleName);
             return null;
         }
     }
@@ -216,13 +149,80 @@ public class SoundEffectManager {
      * Checks if sounds are enabled
      */
     public boolean areSoundsEnabled() {
-        return soundsEnabled;
+        return presets.soundsEnabled;
     }
     
     /**
      * Checks if particles are enabled
      */
     public boolean areParticlesEnabled() {
-        return particlesEnabled;
+        return presets.particlesEnabled;
+    }
+    
+    /**
+     * Every preset plus the global toggles they were built with
+     */
+    private static final class Presets {
+        private final boolean soundsEnabled;
+        private final boolean particlesEnabled;
+        private final EffectPreset raceStart;
+        private final EffectPreset raceFinish;
+        private final EffectPreset personalBest;
+        private final EffectPreset checkpoint;
+        private final EffectPreset boatSpawn;
+        private final EffectPreset setupSuccess;
+        private final EffectPreset setupEnter;
+        private final EffectPreset error;
+        private final EffectPreset disqualification;
+        
+        Presets(SoundEffectManager manager) {
+            this.soundsEnabled = manager.plugin.getConfigManager().getSettings().isSoundsEnabled();
+            this.particlesEnabled = manager.plugin.getConfigManager().getSettings().isParticlesEnabled();
+            
+            this.raceStart = new EffectPreset.Builder()
+                    .shared()
+                    .sound(manager.resolveSound("sounds.race-start", "BLOCK_NOTE_BLOCK_BELL"), 1.0f, 1.5f)
+                    .sound(Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 2.0f) // Additional ding for emphasis
+                    .particle(manager.resolveParticle("particles.race-start", "FIREWORK"), 20, 1, 1, 1, 0.1)
+                    .build();
+            this.raceFinish = new EffectPreset.Builder()
+                    .shared()
+                    .sound(manager.resolveSound("sounds.race-finish", "ENTITY_PLAYER_LEVELUP"), 1.0f, 1.0f)
+                    .sound(Sound.ENTITY_FIREWORK_ROCKET_BLAST, 2.0f, 1.0f)
+                    .sound(Sound.ENTITY_FIREWORK_ROCKET_LARGE_BLAST, 2.0f, 1.2f)
+                    .sound(Sound.ENTITY_FIREWORK_ROCKET_TWINKLE, 2.0f, 1.5f)
+                    .particle(manager.resolveParticle("particles.race-finish", "VILLAGER_HAPPY"), 50, 2, 2, 2, 0.1)
+                    .build();
+            this.personalBest = new EffectPreset.Builder()
+                    .shared()
+                    .sound(manager.resolveSound("sounds.personal-best", "UI_TOAST_CHALLENGE_COMPLETE"), 1.0f, 2.0f)
+                    .particle(Particle.FIREWORK, 30, 2, 2, 2, 0.2) // Extra sparkly effects for personal best
+                    .build();
+            this.checkpoint = new EffectPreset.Builder()
+                    .sound(Sound.BLOCK_NOTE_BLOCK_CHIME, 1.0f, 1.8f)
+                    .build();
+            this.boatSpawn = new EffectPreset.Builder()
+                    .shared()
+                    .sound(Sound.ENTITY_BOAT_PADDLE_WATER, 1.0f, 1.0f)
+                    .sound(Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f)
+                    .particle(manager.resolveParticle("particles.boat-spawn", "SPLASH"), 20, 1, 0.5, 1, 0.1)
+                    .build();
+            this.setupSuccess = new EffectPreset.Builder()
+                    .sound(manager.resolveSound("sounds.setup-success", "ENTITY_EXPERIENCE_ORB_PICKUP"), 1.0f, 1.5f)
+                    .particle(manager.resolveParticle("particles.setup-success", "VILLAGER_HAPPY"), 10, 0.5, 0.5, 0.5, 0.1)
+                    .build();
+            this.setupEnter = new EffectPreset.Builder()
+                    .sound(manager.resolveSound("sounds.setup-enter", "BLOCK_NOTE_BLOCK_PLING"), 1.0f, 1.5f)
+                    .build();
+            this.error = new EffectPreset.Builder()
+                    .sound(manager.resolveSound("sounds.error", "ENTITY_VILLAGER_NO"), 1.0f, 1.0f)
+                    .build();
+            this.disqualification = new EffectPreset.Builder()
+                    .shared()
+                    .sound(Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f)
+                    .sound(Sound.BLOCK_ANVIL_LAND, 0.5f, 0.5f) // Additional dramatic sound for DQ
+                    .particle(Particle.FLAME, 20, 1, 1, 1, 0.1) // Red particles for disqualification
+                    .build();
+        }
     }
 }
@@ -2,20 +2,113 @@ package com.bocrace.util;
 
 import com.bocrace.BOCRacePlugin;
 import com.bocrace.model.Course;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
 
 /**
  * Utility for consistent teleportation with lobby priority system
+ * All teleports go through Paper's teleportAsync so destination chunk loads never block the main thread
+ * (except during plugin disable, where they are synchronous)
  */
 public class TeleportUtil {
     
     private final BOCRacePlugin plugin;
     
+    // Rate-limited mass returns (race cleanup), drained returns-per-tick at a time
+    private final Deque<QueuedTeleport> returnQueue = new ArrayDeque<>();
+    private BukkitTask returnTask;
+    
     public TeleportUtil(BOCRacePlugin plugin) {
         this.plugin = plugin;
     }
     
+    /**
+     * Teleport asynchronously, the callback (optional) runs on the main thread with the result
+     * While the plugin is disabling the teleport is synchronous - an async one may not finish before
+     * players are saved, and its callback can't be scheduled any more
+     */
+    public void teleportAsync(Player player, Location destination, Consumer<Boolean> callback) {
+        if (!plugin.isEnabled()) {
+            boolean ok = player.teleport(destination);
+            if (callback != null) {
+                callback.accept(ok);
+            }
+            return;
+        }
+        
+        player.teleportAsync(destination).whenComplete((success, error) -> {
+            boolean ok = error == null && Boolean.TRUE.equals(success);
+            if (error != null) {
+                plugin.getLogger().warning("Async teleport failed for " + player.getName() + ": " + error.getMessage());
+            }
+            if (callback != null) {
+                // Paper completes teleport futures on the main thread, but don't rely on it for player messaging
+                if (Bukkit.isPrimaryThread()) {
+                    callback.accept(ok);
+                } else {
+                    Bukkit.getScheduler().runTask(plugin, () -> callback.accept(ok));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Queue a return teleport for mass returns (race cleanup), spread across ticks
+     */
+    public void queueReturn(Player player, Location destination, Consumer<Boolean> callback) {
+        // Disabling (race cleanup from onDisable) - the scheduler is gone, teleport now
+        if (!plugin.isEnabled()) {
+            teleportAsync(player, destination, callback);
+            return;
+        }
+        
+        returnQueue.add(new QueuedTeleport(player, destination, callback));
+        if (returnTask != null) return;
+        
+        int perTick = plugin.getConfigManager().getSettings().getTeleportReturnsPerTick();
+        returnTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < perTick && !returnQueue.isEmpty(); i++) {
+                    QueuedTeleport queued = returnQueue.poll();
+                    if (queued.player.isOnline()) {
+                        teleportAsync(queued.player, queued.destination, queued.callback);
+                    }
+                }
+                if (returnQueue.isEmpty()) {
+                    cancel();
+                    returnTask = null;
+                }
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+    
+    /**
+     * Issue every queued return immediately (plugin disable - the scheduler won't run again)
+     */
+    public int flushReturns() {
+        if (returnTask != null) {
+            returnTask.cancel();
+            returnTask = null;
+        }
+        int count = 0;
+        while (!returnQueue.isEmpty()) {
+            QueuedTeleport queued = returnQueue.poll();
+            if (queued.player.isOnline()) {
+                teleportAsync(queued.player, queued.destination, queued.callback);
+                count++;
+            }
+        }
+        return count;
+    }
+    
     /**
      * Emergency teleport with multiple fallbacks
      * Priority: preRaceLocation > mainLobby > courseLobby > world spawn
@@ -23,14 +116,18 @@ public class TeleportUtil {
     public boolean emergencyTeleport(Player player, Course course, Location preRaceLocation, String reason) {
         plugin.raceDebugLog("🚨 EMERGENCY TELEPORT - Player: " + player.getName() + ", Reason: " + reason);
         
-        // Try pre-race location first (safest)
-        if (preRaceLocation != null && isSafeLocation(preRaceLocation)) {
+        // Try pre-race location first (safest - callers pass it only if it was validated at race start)
+        if (preRaceLocation != null) {
             plugin.raceDebugLog("🛡️ Using pre-race location for emergency teleport");
-            boolean success = player.teleport(preRaceLocation);
-            if (success) {
-                player.sendMessage("§a✅ Returned to safety.");
-                return true;
-            }
+            teleportAsync(player, preRaceLocation, success -> {
+                if (success) {
+                    player.sendMessage("§a✅ Returned to safety.");
+                } else {
+                    // Fallback to normal lobby system
+                    teleportToLobby(player, course, reason + " (emergency)");
+                }
+            });
+            return true;
         }
         
         // Fallback to normal lobby system
@@ -40,18 +137,22 @@ public class TeleportUtil {
     /**
      * Teleport player using lobby priority system
      * Priority: mainLobby first, then courseLobby (required)
+     * Returns true if a destination was found and the teleport was started
      */
     public boolean teleportToLobby(Player player, Course course, String reason) {
+        SafeLocationCache safeSpots = plugin.getStorageManager().getSafeLocationCache();
+        Location mainLobby = safeSpots.getDestination(course, SafeLocationCache.Spot.MAIN_LOBBY);
+        Location courseLobby = safeSpots.getDestination(course, SafeLocationCache.Spot.COURSE_LOBBY);
         Location destination = null;
         String locationName = "";
         
-        // Priority system: mainLobby first, then courseLobby
-        if (course.getSpmainlobby() != null) {
-            destination = course.getSpmainlobby().clone();
+        // Priority system: mainLobby first, then courseLobby (precomputed safe spots, unsafe ones are skipped)
+        if (mainLobby != null) {
+            destination = mainLobby;
             locationName = "main lobby";
             plugin.debugLog("Teleporting " + player.getName() + " to main lobby for " + reason);
-        } else if (course.getSpcourselobby() != null) {
-            destination = course.getSpcourselobby().clone();
+        } else if (courseLobby != null) {
+            destination = courseLobby;
             locationName = "course lobby";
             plugin.debugLog("Teleporting " + player.getName() + " to course lobby for " + reason + " (no main lobby set)");
         } else {
@@ -60,88 +161,88 @@ public class TeleportUtil {
             // EMERGENCY: Teleport to world spawn as absolute last resort
             plugin.raceDebugLog("🚨 EMERGENCY: No lobby configured, using world spawn");
             Location worldSpawn = player.getWorld().getSpawnLocation();
-            boolean success = player.teleport(worldSpawn);
-            
-            if (success) {
-                player.sendMessage("§c⚠️ Course lobby not configured! Teleported to world spawn. Please contact an admin.");
-                return true;
-            } else {
-                player.sendMessage("§4🚨 CRITICAL ERROR: Cannot teleport! Please relog and contact an admin immediately!");
-                return false;
-            }
+            teleportAsync(player, worldSpawn, success -> {
+                if (success) {
+                    player.sendMessage("§c⚠️ Course lobby not configured! Teleported to world spawn. Please contact an admin.");
+                } else {
+                    player.sendMessage("§4🚨 CRITICAL ERROR: Cannot teleport! Please relog and contact an admin immediately!");
+                }
+            });
+            return true;
         }
         
-        // Center the location and add slight Y offset for safety
-        destination = centerLocation(destination);
-        destination.add(0, 1.0, 0); // Add 1 block up to prevent suffocation
-        
         // Perform teleportation
-        boolean success = player.teleport(destination);
-        
-        if (success) {
-            plugin.debugLog("Successfully teleported " + player.getName() + " to " + locationName + 
-                           " at " + destination.getWorld().getName() + " " + 
-                           destination.getBlockX() + "," + destination.getBlockY() + "," + destination.getBlockZ());
-            
-            // Send appropriate message based on reason
-            switch (reason.toLowerCase()) {
-                case "race_complete":
-                    player.sendMessage("§a🏁 Race completed! Returned to " + locationName + ".");
-                    break;
-                case "course_busy":
-                    player.sendMessage("§eCourse is in use. Please wait in the " + locationName + ".");
-                    break;
-                case "race_dq":
-                    player.sendMessage("§c⚠️ Race disqualified - exited boat. Returned to " + locationName + ".");
-                    break;
-                case "dq_silent":
-                    // No additional message - DQ message already sent
-                    break;
-                default:
-                    player.sendMessage("§aTeleported to " + locationName + " for course '" + course.getName() + "'.");
-                    break;
+        Location target = destination;
+        String targetName = locationName;
+        teleportAsync(player, target, success -> {
+            if (success) {
+                plugin.debugLog("Successfully teleported " + player.getName() + " to " + targetName + 
+                               " at " + target.getWorld().getName() + " " + 
+                               target.getBlockX() + "," + target.getBlockY() + "," + target.getBlockZ());
+                
+                // Send appropriate message based on reason
+                switch (reason.toLowerCase()) {
+                    case "race_complete":
+                        player.sendMessage("§a🏁 Race completed! Returned to " + targetName + ".");
+                        break;
+                    case "course_busy":
+                        player.sendMessage("§eCourse is in use. Please wait in the " + targetName + ".");
+                        break;
+                    case "race_dq":
+                        player.sendMessage("§c⚠️ Race disqualified - exited boat. Returned to " + targetName + ".");
+                        break;
+                    case "dq_silent":
+                        // No additional message - DQ message already sent
+                        break;
+                    default:
+                        player.sendMessage("§aTeleported to " + targetName + " for course '" + course.getName() + "'.");
+                        break;
+                }
+            } else {
+                plugin.debugLog("Failed to teleport " + player.getName() + " to " + targetName);
+                player.sendMessage("§cTeleportation failed! Please contact an admin.");
             }
-        } else {
-            plugin.debugLog("Failed to teleport " + player.getName() + " to " + locationName);
-            player.sendMessage("§cTeleportation failed! Please contact an admin.");
-        }
+        });
         
-        return success;
+        return true;
     }
     
     /**
      * Teleport player specifically to course lobby (for DQ from course lobby button)
      */
     public boolean teleportToCourseLobby(Player player, Course course, String reason) {
-        if (course.getSpcourselobby() == null) {
-            plugin.debugLog("Cannot teleport " + player.getName() + " - no course lobby set for course " + course.getName());
+        Location destination = plugin.getStorageManager().getSafeLocationCache()
+                .getDestination(course, SafeLocationCache.Spot.COURSE_LOBBY);
+        if (destination == null) {
+            plugin.debugLog("Cannot teleport " + player.getName() + " - no safe course lobby for course " + course.getName());
             // Fallback to emergency teleport
             return emergencyTeleport(player, course, null, reason + " (no course lobby)");
         }
         
-        Location destination = course.getSpcourselobby().clone();
-        destination = centerLocation(destination);
-        destination.add(0, 1.0, 0); // Add 1 block up to prevent suffocation
-        
-        boolean success = player.teleport(destination);
-        
-        if (success) {
-            plugin.debugLog("Successfully teleported " + player.getName() + " to course lobby at " + 
-                           destination.getWorld().getName() + " " + 
-                           destination.getBlockX() + "," + destination.getBlockY() + "," + destination.getBlockZ());
-            
-            // Send message based on reason
-            if ("dq_silent".equals(reason)) {
-                // No additional message - DQ message already sent
+        teleportAsync(player, destination, success -> {
+            if (success) {
+                plugin.debugLog("Successfully teleported " + player.getName() + " to course lobby at " + 
+                               destination.getWorld().getName() + " " + 
+                               destination.getBlockX() + "," + destination.getBlockY() + "," + destination.getBlockZ());
+                
+                // Send message based on reason
+                if (!"dq_silent".equals(reason)) {
+                    player.sendMessage("§aTeleported to course lobby for course '" + course.getName() + "'.");
+                }
             } else {
-                player.sendMessage("§aTeleported to course lobby for course '" + course.getName() + "'.");
+                plugin.debugLog("Failed to teleport " + player.getName() + " to course lobby");
+                player.sendMessage("§cTeleportation failed! Please contact an admin.");
             }
-        } else {
-            plugin.debugLog("Failed to teleport " + player.getName() + " to course lobby");
-            player.sendMessage("§cTeleportation failed! Please contact an admin.");
-        }
+        });
         
-        return success;
+        return true;
+    }
+    
+    /**
+     * Lobby destination: centered on the block, 1 block up to prevent suffocation
+     */
+    public static Location lobbyDestination(Location lobby) {
+        return centerLocationWithYOffset(lobby, 1.0);
     }
     
     /**
@@ -172,9 +273,11 @@ public class TeleportUtil {
     
     /**
      * Check if a location is safe for teleportation
+     * Unloaded chunks are not inspected (that would load them synchronously) - the location is trusted
      */
     public static boolean isSafeLocation(Location location) {
         if (location == null || location.getWorld() == null) return false;
+        if (!location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) return true;
         
         // Check if the location and the block above are not solid
         Location above = location.clone().add(0, 1, 0);
@@ -182,4 +285,16 @@ public class TeleportUtil {
         return !location.getBlock().getType().isSolid() && 
                !above.getBlock().getType().isSolid();
     }
+    
+    private static class QueuedTeleport {
+        private final Player player;
+        private final Location destination;
+        private final Consumer<Boolean> callback;
+        
+        QueuedTeleport(Player player, Location destination, Consumer<Boolean> callback) {
+            this.player = player;
+            this.destination = destination;
+            this.callback = callback;
+        }
+    }
 }
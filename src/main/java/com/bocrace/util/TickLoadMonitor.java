@@ -0,0 +1,64 @@
+package com.bocrace.util;
+
+import com.bocrace.BOCRacePlugin;
+import com.bocrace.config.PluginSettings;
+
+/**
+ * Tracks recent tick durations and decides when placeholder work should be shed
+ * Overload starts when the smoothed MSPT passes placeholders.load-shedding.mspt-threshold and
+ * only ends once it drops back under recovery-mspt, so the mode doesn't flap around the threshold
+ */
+public class TickLoadMonitor {
+
+    // Weight of the newest tick in the moving average (~20 tick window)
+    private static final double SMOOTHING = 0.05;
+
+    private final BOCRacePlugin plugin;
+
+    // Written on the main thread (tick end), read from any thread
+    private volatile double averageMspt = 0;
+    private boolean sampled = false; // First tick seeds the average (main thread only)
+    private volatile boolean overloaded = false;
+
+    public TickLoadMonitor(BOCRacePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Feed one tick's duration (ServerTickEndEvent)
+     */
+    public void onTickEnd(double tickMillis) {
+        double average = sampled ? averageMspt + (tickMillis - averageMspt) * SMOOTHING : tickMillis;
+        sampled = true;
+        averageMspt = average;
+
+        PluginSettings settings = plugin.getConfigManager().getSettings();
+        if (!settings.isPlaceholderSheddingEnabled()) {
+            overloaded = false;
+            return;
+        }
+
+        if (!overloaded && average > settings.getPlaceholderSheddingMspt()) {
+            overloaded = true;
+            plugin.debugLog("🐢 Tick overrunning (" + formatMspt(average) + " MSPT) - placeholders serving last known values");
+        } else if (overloaded && average < settings.getPlaceholderRecoveryMspt()) {
+            overloaded = false;
+            plugin.debugLog("✅ Tick recovered (" + formatMspt(average) + " MSPT) - placeholders evaluating fresh again");
+        }
+    }
+
+    /**
+     * True while placeholders should avoid fresh record reads
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public double getAverageMspt() {
+        return averageMspt;
+    }
+
+    private static String formatMspt(double mspt) {
+        return String.valueOf(Math.round(mspt * 10) / 10.0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.bocrace.util;
+
+/**
+ * Shared race time formatter for the HUD, placeholders and chat
+ * Digits are written straight into a per-thread char buffer - no format string parsing, one String per call
+ * Negative times (DQ records) get one leading '-' on the absolute value, e.g. "-14.51" / "-1:15"
+ * (the old String.format code printed "-14.-51" / "-1:-15")
+ */
+public final class TimeFormat {
+
+    /**
+     * Course time precision (the course's time-precision setting)
+     */
+    public enum Precision {
+        SHORT,   // 14.51, 1:35
+        MEDIUM,  // 14.512, 1:35.2
+        LONG;    // 14.512, 1:35.21
+
+        /**
+         * Parse a course setting, anything unknown (or missing) is SHORT
+         */
+        public static Precision of(String setting) {
+            if ("medium".equals(setting)) return MEDIUM;
+            if ("long".equals(setting)) return LONG;
+            return SHORT;
+        }
+    }
+
+    // A short prefix plus the longest possible time ("-153722867280912:59.999")
+    private static final int BUFFER_SIZE = 64;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    private TimeFormat() {
+    }
+
+    /**
+     * Format a time at a course precision: "14.51" / "1:35" (short), "14.512" / "1:35.2" (medium), "14.512" / "1:35.21" (long)
+     */
+    public static String format(long ms, Precision precision) {
+        char[] buf = BUFFER.get();
+        int pos = sign(buf, 0, ms);
+        ms = Math.abs(ms);
+        long minutes = ms / 60000;
+        int seconds = (int) (ms % 60000 / 1000);
+        int millis = (int) (ms % 1000);
+
+        if (minutes > 0) {
+            pos = writeLong(buf, pos, minutes);
+            buf[pos++] = ':';
+            pos = write2(buf, pos, seconds);
+            if (precision == Precision.MEDIUM) {
+                buf[pos++] = '.';
+                buf[pos++] = (char) ('0' + millis / 100);
+            } else if (precision == Precision.LONG) {
+                buf[pos++] = '.';
+                pos = write2(buf, pos, millis / 10);
+            }
+        } else {
+            pos = writeLong(buf, pos, seconds);
+            buf[pos++] = '.';
+            pos = precision == Precision.SHORT ? write2(buf, pos, millis / 10) : write3(buf, pos, millis);
+        }
+        return new String(buf, 0, pos);
+    }
+
+    /**
+     * Millisecond split like "1:02.345" or "42.345"
+     */
+    public static String split(long ms) {
+        return split("", ms);
+    }
+
+    /**
+     * Millisecond split with a prefix, e.g. "§6⏱ 1:02.345"
+     */
+    public static String split(String prefix, long ms) {
+        char[] buf = BUFFER.get();
+        int pos = prefix(buf, prefix);
+        pos = sign(buf, pos, ms);
+        ms = Math.abs(ms);
+        long minutes = ms / 60000;
+
+        if (minutes > 0) {
+            pos = writeLong(buf, pos, minutes);
+            buf[pos++] = ':';
+            pos = write2(buf, pos, (int) (ms % 60000 / 1000));
+        } else {
+            pos = writeLong(buf, pos, ms / 1000);
+        }
+        buf[pos++] = '.';
+        pos = write3(buf, pos, (int) (ms % 1000));
+        return new String(buf, 0, pos);
+    }
+
+    /**
+     * Stopwatch clock with padded minutes and a prefix, e.g. "Race Time: 01:02.345"
+     */
+    public static String clock(String prefix, long ms) {
+        char[] buf = BUFFER.get();
+        int pos = prefix(buf, prefix);
+        pos = sign(buf, pos, ms);
+        ms = Math.abs(ms);
+        long minutes = ms / 60000;
+
+        pos = minutes < 10 ? write2(buf, pos, (int) minutes) : writeLong(buf, pos, minutes);
+        buf[pos++] = ':';
+        pos = write2(buf, pos, (int) (ms % 60000 / 1000));
+        buf[pos++] = '.';
+        pos = write3(buf, pos, (int) (ms % 1000));
+        return new String(buf, 0, pos);
+    }
+
+    private static int prefix(char[] buf, String prefix) {
+        // Prefixes are short constants - a longer one gets clipped rather than overflowing the buffer
+        int length = Math.min(prefix.length(), BUFFER_SIZE - 24);
+        prefix.getChars(0, length, buf, 0);
+        return length;
+    }
+
+    private static int sign(char[] buf, int pos, long ms) {
+        if (ms < 0) {
+            buf[pos++] = '-';
+        }
+        return pos;
+    }
+
+    private static int write2(char[] buf, int pos, int value) {
+        buf[pos++] = (char) ('0' + value / 10);
+        buf[pos++] = (char) ('0' + value % 10);
+        return pos;
+    }
+
+    private static int write3(char[] buf, int pos, int value) {
+        buf[pos++] = (char) ('0' + value / 100);
+        buf[pos++] = (char) ('0' + value / 10 % 10);
+        buf[pos++] = (char) ('0' + value % 10);
+        return pos;
+    }
+
+    private static int writeLong(char[] buf, int pos, long value) {
+        if (value < 10) {
+            buf[pos++] = (char) ('0' + value);
+            return pos;
+        }
+        // Write digits backwards into place
+        int digits = 0;
+        for (long v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,242 @@
+package com.bocrace.util;
+
+import com.bocrace.model.Checkpoint;
+import com.bocrace.model.Course;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Precompiled axis-aligned bounding box around a course trigger zone
+ * Bounds match the zones tested by LineDetection, so a boat outside the box can't trigger the line
+ */
+public final class TriggerVolume {
+
+    public enum Kind {
+        START,
+        FINISH,
+        CHECKPOINT
+    }
+
+    private final String courseName;
+    private final Kind kind;
+    private final int index; // Checkpoint order (0-based), -1 for start/finish
+    private final UUID worldId;
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+
+    private TriggerVolume(String courseName, Kind kind, int index, UUID worldId,
+                          double minX, double minY, double minZ,
+                          double maxX, double maxY, double maxZ) {
+        this.courseName = courseName;
+        this.kind = kind;
+        this.index = index;
+        this.worldId = worldId;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Compile all trigger volumes for a course (empty array if no lines are set)
+     */
+    public static TriggerVolume[] compile(Course course) {
+        List<TriggerVolume> volumes = new ArrayList<>(2);
+
+        TriggerVolume start = forStartLine(course.getName(), course.getSpstart1(), course.getSpstart2());
+        if (start != null) volumes.add(start);
+
+        TriggerVolume finish = forFinishLine(course.getName(), course.getSpfinish1(), course.getSpfinish2());
+        if (finish != null) volumes.add(finish);
+
+        for (TriggerVolume checkpoint : compileCheckpoints(course)) {
+            volumes.add(checkpoint);
+        }
+
+        return volumes.toArray(new TriggerVolume[0]);
+    }
+
+    /**
+     * Compile the course's complete checkpoints in race order (incomplete ones are skipped)
+     */
+    public static TriggerVolume[] compileCheckpoints(Course course) {
+        List<TriggerVolume> volumes = new ArrayList<>();
+        if (course.getCheckpoints() == null) return new TriggerVolume[0];
+
+        for (int i = 0; i < course.getCheckpoints().size(); i++) {
+            Checkpoint checkpoint = course.getCheckpoints().get(i);
+            if (!checkpoint.isComplete()) continue;
+            TriggerVolume volume = forCheckpoint(course.getName(), volumes.size(), checkpoint.getPoint1(), checkpoint.getPoint2());
+            if (volume != null) volumes.add(volume);
+        }
+        return volumes.toArray(new TriggerVolume[0]);
+    }
+
+    /**
+     * Bounds of LineDetection's thin start zone
+     */
+    public static TriggerVolume forStartLine(String courseName, Location point1, Location point2) {
+        if (point1 == null || point2 == null || point1.getWorld() == null) return null;
+
+        double minX = Math.min(point1.getX(), point2.getX());
+        double maxX = Math.max(point1.getX(), point2.getX()) + 1.0;
+        double minZ = Math.min(point1.getZ(), point2.getZ());
+        double maxZ = Math.max(point1.getZ(), point2.getZ()) + 1.0;
+        double minY = Math.min(point1.getY(), point2.getY()) - 1.0;
+        double maxY = Math.max(point1.getY(), point2.getY()) + 3.0;
+
+        double deltaX = Math.abs(point2.getX() - point1.getX());
+        double deltaZ = Math.abs(point2.getZ() - point1.getZ());
+        if (deltaX > deltaZ) {
+            double zCenter = (point1.getZ() + point2.getZ()) / 2.0 + 0.5;
+            minZ = zCenter - 0.6;
+            maxZ = zCenter + 0.6;
+        } else {
+            double xCenter = (point1.getX() + point2.getX()) / 2.0 + 0.5;
+            minX = xCenter - 0.6;
+            maxX = xCenter + 0.6;
+        }
+
+        return new TriggerVolume(courseName, Kind.START, -1, point1.getWorld().getUID(), minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Bounds of LineDetection's expanded finish zone (the "well inside" zone is a subset)
+     */
+    public static TriggerVolume forFinishLine(String courseName, Location point1, Location point2) {
+        if (point1 == null || point2 == null || point1.getWorld() == null) return null;
+
+        double minX = Math.min(point1.getX(), point2.getX()) - 0.5;
+        double maxX = Math.max(point1.getX(), point2.getX()) + 1.0; // covers well-inside zone too
+        double minZ = Math.min(point1.getZ(), point2.getZ()) - 0.5;
+        double maxZ = Math.max(point1.getZ(), point2.getZ()) + 1.0;
+        double minY = Math.min(point1.getY(), point2.getY()) - 1.0;
+        double maxY = Math.max(point1.getY(), point2.getY()) + 2.0;
+
+        return new TriggerVolume(courseName, Kind.FINISH, -1, point1.getWorld().getUID(), minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Checkpoint zone: same forgiving box as the finish line, covering the full block width
+     */
+    public static TriggerVolume forCheckpoint(String courseName, int index, Location point1, Location point2) {
+        if (point1 == null || point2 == null || point1.getWorld() == null) return null;
+
+        double minX = Math.min(point1.getX(), point2.getX()) - 0.5;
+        double maxX = Math.max(point1.getX(), point2.getX()) + 1.0;
+        double minZ = Math.min(point1.getZ(), point2.getZ()) - 0.5;
+        double maxZ = Math.max(point1.getZ(), point2.getZ()) + 1.0;
+        double minY = Math.min(point1.getY(), point2.getY()) - 1.0;
+        double maxY = Math.max(point1.getY(), point2.getY()) + 2.0;
+
+        return new TriggerVolume(courseName, Kind.CHECKPOINT, index, point1.getWorld().getUID(), minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Distance from a point to the nearest face of this box (0 if inside)
+     */
+    public double distance(double x, double y, double z) {
+        double dx = Math.max(0.0, Math.max(minX - x, x - maxX));
+        double dy = Math.max(0.0, Math.max(minY - y, y - maxY));
+        double dz = Math.max(0.0, Math.max(minZ - z, z - maxZ));
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Nearest distance from a location to any of the volumes (infinity if none share its world)
+     */
+    public static double nearestDistance(TriggerVolume[] volumes, Location location) {
+        double nearest = Double.POSITIVE_INFINITY;
+        if (volumes == null || location.getWorld() == null) return nearest;
+
+        UUID worldId = location.getWorld().getUID();
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        for (TriggerVolume volume : volumes) {
+            if (!volume.worldId.equals(worldId)) continue;
+            double distance = volume.distance(x, y, z);
+            if (distance < nearest) nearest = distance;
+        }
+        return nearest;
+    }
+
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Slab test: does the segment from (x1,y1,z1) to (x2,y2,z2) touch this box
+     * Allocation-free - called on every move for the racer's next checkpoint
+     */
+    public boolean intersectsSegment(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double tMin = 0.0;
+        double tMax = 1.0;
+
+        // X slab
+        double dx = x2 - x1;
+        if (Math.abs(dx) < 1e-9) {
+            if (x1 < minX || x1 > maxX) return false;
+        } else {
+            double t1 = (minX - x1) / dx;
+            double t2 = (maxX - x1) / dx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return false;
+        }
+
+        // Y slab
+        double dy = y2 - y1;
+        if (Math.abs(dy) < 1e-9) {
+            if (y1 < minY || y1 > maxY) return false;
+        } else {
+            double t1 = (minY - y1) / dy;
+            double t2 = (maxY - y1) / dy;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return false;
+        }
+
+        // Z slab
+        double dz = z2 - z1;
+        if (Math.abs(dz) < 1e-9) {
+            return z1 >= minZ && z1 <= maxZ;
+        }
+        double t1 = (minZ - z1) / dz;
+        double t2 = (maxZ - z1) / dz;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+        return tMin <= tMax;
+    }
+
+    /**
+     * Did a move from -> to pass through this volume (same world only)
+     */
+    public boolean passedThrough(Location from, Location to) {
+        if (to.getWorld() == null || !worldId.equals(to.getWorld().getUID())) return false;
+        return intersectsSegment(from.getX(), from.getY(), from.getZ(), to.getX(), to.getY(), to.getZ());
+    }
+
+    // Getters
+    public String getCourseName() { return courseName; }
+    public Kind getKind() { return kind; }
+    public int getIndex() { return index; }
+    public UUID getWorldId() { return worldId; }
+    public double getMinX() { return minX; }
+    public double getMinY() { return minY; }
+    public double getMinZ() { return minZ; }
+    public double getMaxX() { return maxX; }
+    public double getMaxY() { return maxY; }
+    public double getMaxZ() { return maxZ; }
+
+    @Override
+    public String toString() {
+        return String.format("TriggerVolume{course=%s, kind=%s, X[%.1f to %.1f], Y[%.1f to %.1f], Z[%.1f to %.1f]}",
+                courseName, kind, minX, maxX, minY, maxY, minZ, maxZ);
+    }
+}
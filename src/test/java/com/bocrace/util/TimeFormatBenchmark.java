@@ -0,0 +1,130 @@
+package com.bocrace.util;
+
+/**
+ * Standalone microbenchmark: TimeFormat against the String.format code it replaced
+ * Not a test - run it by hand after a test-compile:
+ *   java -cp target/classes:target/test-classes com.bocrace.util.TimeFormatBenchmark
+ * Output equality is checked first for non-negative times (negative DQ times intentionally differ, see TimeFormat)
+ */
+public final class TimeFormatBenchmark {
+
+    private static final int TIMES = 4096;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 20;
+
+    // Keeps results reachable so the JIT can't drop the work
+    private static long sink;
+
+    private TimeFormatBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        long[] times = new long[TIMES];
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < TIMES; i++) {
+            // Mix of sub-minute and multi-minute race times
+            times[i] = i % 4 == 0 ? 60_000 + random.nextInt(540_000) : random.nextInt(60_000);
+        }
+
+        verify(times);
+
+        run("course time (short)", times, ms -> legacyCourse(ms, "short"), ms -> TimeFormat.format(ms, TimeFormat.Precision.SHORT));
+        run("course time (long)", times, ms -> legacyCourse(ms, "long"), ms -> TimeFormat.format(ms, TimeFormat.Precision.LONG));
+        run("hud split", times, TimeFormatBenchmark::legacySplit, ms -> TimeFormat.split("§6⏱ ", ms));
+        run("race clock", times, TimeFormatBenchmark::legacyClock, ms -> TimeFormat.clock("Race Time: ", ms));
+    }
+
+    private static void verify(long[] times) {
+        for (long ms : times) {
+            for (String precision : new String[] {"short", "medium", "long"}) {
+                check(legacyCourse(ms, precision), TimeFormat.format(ms, TimeFormat.Precision.of(precision)));
+            }
+            check(legacySplit(ms), TimeFormat.split("§6⏱ ", ms));
+            check(legacyClock(ms), TimeFormat.clock("Race Time: ", ms));
+        }
+        System.out.println("Output matches String.format for " + times.length + " times");
+    }
+
+    private static void check(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Output differs: expected '" + expected + "' but got '" + actual + "'");
+        }
+    }
+
+    private static void run(String name, long[] times, Formatter legacy, Formatter current) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(times, legacy);
+            measure(times, current);
+        }
+        long legacyNanos = 0;
+        long currentNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            legacyNanos += measure(times, legacy);
+            currentNanos += measure(times, current);
+        }
+
+        long calls = (long) TIMES * MEASURED_ROUNDS;
+        double legacyPerCall = (double) legacyNanos / calls;
+        double currentPerCall = (double) currentNanos / calls;
+        System.out.printf("%-20s String.format %7.1f ns/op   TimeFormat %6.1f ns/op   %5.1fx%n",
+                name, legacyPerCall, currentPerCall, legacyPerCall / currentPerCall);
+    }
+
+    private static long measure(long[] times, Formatter formatter) {
+        long start = System.nanoTime();
+        for (long ms : times) {
+            sink += formatter.format(ms).length();
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface Formatter {
+        String format(long ms);
+    }
+
+    // Previous implementations (RaceRecord / placeholder expansion, RaceHudTask, ActiveRace)
+
+    private static String legacyCourse(long timeMs, String precision) {
+        long minutes = timeMs / 60000;
+        long seconds = (timeMs % 60000) / 1000;
+        long milliseconds = timeMs % 1000;
+
+        if (minutes > 0) {
+            switch (precision) {
+                case "medium":
+                    return String.format("%d:%02d.%01d", minutes, seconds, milliseconds / 100);
+                case "long":
+                    return String.format("%d:%02d.%02d", minutes, seconds, milliseconds / 10);
+                default:
+                    return String.format("%d:%02d", minutes, seconds);
+            }
+        }
+        switch (precision) {
+            case "medium":
+            case "long":
+                return String.format("%d.%03d", seconds, milliseconds);
+            default:
+                return String.format("%d.%02d", seconds, milliseconds / 10);
+        }
+    }
+
+    private static String legacySplit(long raceTimeMs) {
+        long seconds = raceTimeMs / 1000;
+        long minutes = seconds / 60;
+        seconds = seconds % 60;
+        long milliseconds = raceTimeMs % 1000;
+
+        if (minutes > 0) {
+            return String.format("§6⏱ %d:%02d.%03d", minutes, seconds, milliseconds);
+        }
+        return String.format("§6⏱ %d.%03d", seconds, milliseconds);
+    }
+
+    private static String legacyClock(long milliseconds) {
+        long minutes = milliseconds / 60000;
+        long seconds = (milliseconds % 60000) / 1000;
+        long millis = milliseconds % 1000;
+        return String.format("Race Time: %02d:%02d.%03d", minutes, seconds, millis);
+    }
+}